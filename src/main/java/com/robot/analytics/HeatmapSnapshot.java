@@ -0,0 +1,230 @@
+package com.robot.analytics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable merged view of a {@link TrafficHeatmap}.
+ * Provides coverage analytics and export to CSV or a compact sparse binary format.
+ */
+public final class HeatmapSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(HeatmapSnapshot.class);
+
+    // Binary header: magic "RMAP" followed by format version
+    private static final int MAGIC = 0x524D4150;
+    private static final int VERSION = 1;
+    // Magic, version, width, height and cell count, then index, visits and collisions per cell
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int CELL_BYTES = Integer.BYTES + 2 * Long.BYTES;
+
+    private final int width;
+    private final int height;
+    private final long[] visits;
+    private final long[] collisions;
+
+    /**
+     * Traffic counters for a single cell.
+     */
+    public record CellCount(int x, int y, long visits, long collisions) {
+    }
+
+    HeatmapSnapshot(int width, int height, long[] visits, long[] collisions) {
+        this.width = width;
+        this.height = height;
+        this.visits = visits;
+        this.collisions = collisions;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Returns how many times robots entered the given cell.
+     */
+    public long visits(int x, int y) {
+        return visits[y * width + x];
+    }
+
+    /**
+     * Returns how many moves into the given cell were blocked by another robot.
+     */
+    public long collisions(int x, int y) {
+        return collisions[y * width + x];
+    }
+
+    /**
+     * Returns the total number of recorded moves.
+     */
+    public long totalVisits() {
+        long total = 0;
+        for (long v : visits) {
+            total += v;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the total number of recorded collisions.
+     */
+    public long totalCollisions() {
+        long total = 0;
+        for (long c : collisions) {
+            total += c;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the fraction of cells that were entered at least once.
+     *
+     * @return Coverage ratio between 0.0 and 1.0
+     */
+    public double coverage() {
+        int covered = 0;
+        for (long v : visits) {
+            if (v > 0) {
+                covered++;
+            }
+        }
+        return (double) covered / visits.length;
+    }
+
+    /**
+     * Returns the most visited cells, busiest first.
+     *
+     * @param limit Maximum number of cells to return
+     */
+    public List<CellCount> hottestCells(int limit) {
+        return top(limit, Comparator.comparingLong(CellCount::visits).reversed(), visits);
+    }
+
+    /**
+     * Returns the cells where most collisions occurred, worst first.
+     *
+     * @param limit Maximum number of cells to return
+     */
+    public List<CellCount> collisionHotspots(int limit) {
+        return top(limit, Comparator.comparingLong(CellCount::collisions).reversed(), collisions);
+    }
+
+    private List<CellCount> top(int limit, Comparator<CellCount> order, long[] key) {
+        List<CellCount> result = new ArrayList<>();
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] > 0) {
+                result.add(cell(i));
+            }
+        }
+        result.sort(order);
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+    }
+
+    private CellCount cell(int index) {
+        return new CellCount(index % width, index / width, visits[index], collisions[index]);
+    }
+
+    /**
+     * Writes all non-empty cells as CSV with the header {@code x,y,visits,collisions}.
+     *
+     * @param file The target file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("x,y,visits,collisions");
+            writer.newLine();
+            for (int i = 0; i < visits.length; i++) {
+                if (visits[i] != 0 || collisions[i] != 0) {
+                    writer.write((i % width) + "," + (i / width) + "," + visits[i] + "," + collisions[i]);
+                    writer.newLine();
+                }
+            }
+        }
+        log.debug("Heatmap exported as CSV to {}", file);
+    }
+
+    /**
+     * Writes the snapshot in a sparse binary format: a header with the room size and
+     * cell count, followed by (cell index, visits, collisions) for each non-empty cell.
+     *
+     * @param file The target file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeBinary(Path file) throws IOException {
+        int nonEmpty = 0;
+        for (int i = 0; i < visits.length; i++) {
+            if (visits[i] != 0 || collisions[i] != 0) {
+                nonEmpty++;
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(nonEmpty);
+            for (int i = 0; i < visits.length; i++) {
+                if (visits[i] != 0 || collisions[i] != 0) {
+                    out.writeInt(i);
+                    out.writeLong(visits[i]);
+                    out.writeLong(collisions[i]);
+                }
+            }
+        }
+        log.debug("Heatmap exported as binary to {} ({} non-empty cells)", file, nonEmpty);
+    }
+
+    /**
+     * Reads a snapshot previously written with {@link #writeBinary(Path)}.
+     *
+     * @param file The file to read
+     * @return The restored snapshot
+     * @throws IOException if the file cannot be read, has an unknown format or is corrupt
+     */
+    public static HeatmapSnapshot readBinary(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a heatmap file: " + file);
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            int nonEmpty = in.readInt();
+            if (width <= 0 || height <= 0 || (long) width * height > TrafficHeatmap.MAX_CELLS) {
+                throw new IOException("Invalid heatmap size " + width + "x" + height + " in " + file);
+            }
+            // Check the declared sizes against the file before allocating for them
+            if (nonEmpty < 0 || nonEmpty > width * height
+                    || Files.size(file) != HEADER_BYTES + (long) nonEmpty * CELL_BYTES) {
+                throw new IOException("Invalid cell count " + nonEmpty + " for a file of " + Files.size(file)
+                        + " bytes: " + file);
+            }
+            long[] visits = new long[width * height];
+            long[] collisions = new long[visits.length];
+            for (int n = 0; n < nonEmpty; n++) {
+                int i = in.readInt();
+                if (i < 0 || i >= visits.length) {
+                    throw new IOException("Cell index " + i + " outside " + width + "x" + height + " heatmap in " + file);
+                }
+                visits[i] = in.readLong();
+                collisions[i] = in.readLong();
+            }
+            return new HeatmapSnapshot(width, height, visits, collisions);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.robot.analytics;
+
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.service.SimulationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Collects per-cell traffic and collision counts for a room.
+ * Counters are striped by thread so concurrent simulations rarely touch the same
+ * memory; stripes are allocated lazily and merged only when a snapshot is taken.
+ * <p>
+ * Each stripe holds two counters per cell, 16 bytes. Larger rooms get fewer stripes so that
+ * all stripes stay within 32 MB, down to a single stripe for rooms over 2^21 cells, which then
+ * takes 16 bytes per cell. Rooms over 2^24 cells (256 MB) are refused.
+ * <p>
+ * A robot's visits include the cell it first starts a program from, so cells that robots
+ * only ever start in still count towards coverage.
+ */
+public class TrafficHeatmap implements SimulationListener {
+    private static final Logger log = LoggerFactory.getLogger(TrafficHeatmap.class);
+
+    private static final int MAX_STRIPES = 64;
+    // 32 MB of counters over all stripes
+    private static final long MAX_STRIPED_COUNTERS = 1L << 22;
+    // A single stripe for a room this large takes 256 MB
+    static final int MAX_CELLS = 1 << 24;
+
+    private final int width;
+    private final int height;
+    private final int cells;
+    private final int stripeMask;
+
+    // Each stripe holds visit counts in [0, cells) and collision counts in [cells, 2 * cells)
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    // Robots whose start cell has been recorded
+    private final Set<String> startedRobots = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a heatmap for the given room with one stripe per available processor.
+     *
+     * @param room The room whose cells are tracked
+     * @throws IllegalArgumentException if the room has more than 2^24 cells
+     */
+    public TrafficHeatmap(Room room) {
+        this(room, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a heatmap for the given room with a specific stripe count.
+     *
+     * @param room The room whose cells are tracked
+     * @param concurrency Expected number of recording threads, rounded up to a power of two
+     *                    and capped by the stripe limits
+     * @throws IllegalArgumentException if concurrency is not positive or the room has more than 2^24 cells
+     */
+    public TrafficHeatmap(Room room, int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        if ((long) room.width() * room.height() > MAX_CELLS) {
+            throw new IllegalArgumentException("Room too large for a traffic heatmap: "
+                    + room.width() + "x" + room.height());
+        }
+        this.width = room.width();
+        this.height = room.height();
+        this.cells = width * height;
+        long affordable = Math.max(1, MAX_STRIPED_COUNTERS / (2L * cells));
+        int stripeCount = Integer.highestOneBit(Math.min(concurrency, MAX_STRIPES) * 2 - 1);
+        stripeCount = Math.min(stripeCount, Integer.highestOneBit((int) Math.min(affordable, MAX_STRIPES)));
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new AtomicReferenceArray<>(stripeCount);
+        log.debug("Traffic heatmap created for {}x{} room with {} stripes", width, height, stripeCount);
+    }
+
+    @Override
+    public void onExecutionStart(Robot robot, Position start) {
+        // Robots placed outside the room are not counted, rather than failing their execution
+        boolean inRoom = start.x() >= 0 && start.x() < width && start.y() >= 0 && start.y() < height;
+        if (inRoom && startedRobots.add(robot.getId())) {
+            recordVisit(start.x(), start.y());
+        }
+    }
+
+    @Override
+    public void onMove(Robot robot, Position from, Position to) {
+        recordVisit(to.x(), to.y());
+    }
+
+    @Override
+    public void onCollision(Robot robot, Position target) {
+        recordCollision(target.x(), target.y());
+    }
+
+    /**
+     * Records a robot entering the given cell.
+     */
+    public void recordVisit(int x, int y) {
+        stripe().getAndIncrement(index(x, y));
+    }
+
+    /**
+     * Records a blocked move into the given cell.
+     */
+    public void recordCollision(int x, int y) {
+        stripe().getAndIncrement(cells + index(x, y));
+    }
+
+    /**
+     * Merges all stripes into a point-in-time snapshot.
+     * Counts recorded while the snapshot is being taken may or may not be included.
+     *
+     * @return The merged counts
+     */
+    public HeatmapSnapshot snapshot() {
+        long[] visits = new long[cells];
+        long[] collisions = new long[cells];
+        for (int s = 0; s < stripes.length(); s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < cells; i++) {
+                visits[i] += stripe.get(i);
+                collisions[i] += stripe.get(cells + i);
+            }
+        }
+        return new HeatmapSnapshot(width, height, visits, collisions);
+    }
+
+    /**
+     * Clears all recorded counts. Robots starting a program afterwards record their start cell again.
+     */
+    public void reset() {
+        for (int s = 0; s < stripes.length(); s++) {
+            stripes.set(s, null);
+        }
+        startedRobots.clear();
+        log.debug("Traffic heatmap reset");
+    }
+
+    private int index(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IllegalArgumentException("Cell outside heatmap: (" + x + ", " + y + ")");
+        }
+        return y * width + x;
+    }
+
+    private AtomicLongArray stripe() {
+        // Fibonacci hashing spreads sequential thread ids across stripes
+        int slot = (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 40) & stripeMask;
+        AtomicLongArray stripe = stripes.get(slot);
+        if (stripe == null) {
+            AtomicLongArray created = new AtomicLongArray(2 * cells);
+            stripe = stripes.compareAndSet(slot, null, created) ? created : stripes.get(slot);
+        }
+        return stripe;
+    }
+}
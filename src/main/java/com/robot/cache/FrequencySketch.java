@@ -0,0 +1,82 @@
+package com.robot.cache;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often keys were seen recently.
+ * <p>
+ * Each key maps to one counter in each of four rows; the estimate is the smallest of them.
+ * Once the number of recorded accesses reaches ten times the cache size, all counters are
+ * halved so that popularity fades over time. Not thread-safe.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int samples;
+
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(8, Math.min(maximumSize, 1 << 28)) * 2 - 1);
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of recent occurrences of the hash, at most 15.
+     */
+    int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long h = mix(hash, row);
+            frequency = Math.min(frequency, (int) ((table[index(h)] >>> offset(h, row)) & 0xF));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records one occurrence of the hash.
+     */
+    void increment(int hash) {
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long h = mix(hash, row);
+            int index = index(h);
+            int offset = offset(h, row);
+            if (((table[index] >>> offset) & 0xF) < MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++samples >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        samples /= 2;
+    }
+
+    private static long mix(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return h ^ (h >>> 32);
+    }
+
+    private int index(long h) {
+        return (int) (h >>> 8) & tableMask;
+    }
+
+    /**
+     * Each row uses its own four of the sixteen counters in a word, so rows never share a counter.
+     */
+    private static int offset(long h, int row) {
+        return ((row << 2) + (int) (h & 3)) << 2;
+    }
+}
@@ -0,0 +1,18 @@
+package com.robot.cache;
+
+import com.robot.domain.Direction;
+
+/**
+ * Identifies a program run: where it starts, what it executes and in which room.
+ * Hashing relies on the program's own cached {@link String#hashCode()}, so building a key
+ * does not walk the program again.
+ *
+ * @param x Starting x-coordinate
+ * @param y Starting y-coordinate
+ * @param direction Starting direction
+ * @param program Command string
+ * @param roomWidth Width of the room the program runs in
+ * @param roomHeight Height of the room the program runs in
+ */
+public record ProgramKey(int x, int y, Direction direction, String program, int roomWidth, int roomHeight) {
+}
@@ -0,0 +1,18 @@
+package com.robot.cache;
+
+import com.robot.domain.Direction;
+
+/**
+ * Final pose of a program together with every cell it passes through, summarized as a
+ * bounding box that includes the starting cell.
+ *
+ * @param x Final x-coordinate
+ * @param y Final y-coordinate
+ * @param direction Final direction
+ * @param minX Smallest x-coordinate visited
+ * @param minY Smallest y-coordinate visited
+ * @param maxX Largest x-coordinate visited
+ * @param maxY Largest y-coordinate visited
+ */
+public record ProgramOutcome(int x, int y, Direction direction, int minX, int minY, int maxX, int maxY) {
+}
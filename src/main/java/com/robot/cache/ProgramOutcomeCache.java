@@ -0,0 +1,400 @@
+package com.robot.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of program outcomes with W-TinyLFU eviction.
+ * <p>
+ * New entries enter a small LRU window. Entries leaving the window compete for a place in
+ * the main space, an SLRU split into probation and protected segments: a frequency sketch
+ * decides whether the candidate or the main space's least recently used entry is evicted.
+ * This keeps the few thousand programs that are replayed constantly resident even when
+ * a burst of one-off programs passes through.
+ * <p>
+ * Lookups read a concurrent map and never block. The eviction policy is not thread-safe, so
+ * reads are recorded in lock-free ring buffers striped by thread and new entries in a
+ * lock-free queue; whichever thread wins a try-lock replays them into the sketch and the LRU
+ * queues. Reads arriving while their stripe is full are dropped, since the policy only needs
+ * a sample of them; new entries are never dropped.
+ */
+public class ProgramOutcomeCache {
+    private static final Logger log = LoggerFactory.getLogger(ProgramOutcomeCache.class);
+
+    private static final int PENDING = -1;
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int MAX_READ_STRIPES = 64;
+
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final Map<ProgramKey, Node> entries = new ConcurrentHashMap<>();
+    private final ReadBuffer[] readBuffers;
+    private final Queue<Node> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // Guarded by evictionLock
+    private final FrequencySketch sketch;
+    private final AccessQueue window = new AccessQueue();
+    private final AccessQueue probation = new AccessQueue();
+    private final AccessQueue protectedQueue = new AccessQueue();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding at most the given number of outcomes.
+     *
+     * @param maximumSize Maximum number of cached outcomes
+     * @throws IllegalArgumentException if maximumSize is not positive
+     */
+    public ProgramOutcomeCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (int) ((maximumSize - windowMaximum) * 0.8);
+        this.sketch = new FrequencySketch(maximumSize);
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripes = Math.min(MAX_READ_STRIPES, Integer.highestOneBit(processors * 2 - 1));
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+        log.debug("Program outcome cache created for {} entries", maximumSize);
+    }
+
+    /**
+     * Looks up the outcome of a program run.
+     *
+     * @param key The program and its starting pose
+     * @return The cached outcome, or null on a miss
+     */
+    public ProgramOutcome get(ProgramKey key) {
+        Node node = entries.get(key);
+        if (node == null) {
+            misses.increment();
+            // Misses count towards the key's frequency too, so a key gains weight while it
+            // is refused admission
+            recordRead(key);
+            return null;
+        }
+        hits.increment();
+        recordRead(node);
+        return node.value;
+    }
+
+    /**
+     * Stores the outcome of a program run, evicting another entry if the cache is full.
+     *
+     * @param key The program and its starting pose
+     * @param outcome The outcome of running it
+     */
+    public void put(ProgramKey key, ProgramOutcome outcome) {
+        Node node = new Node(key, outcome);
+        Node existing = entries.putIfAbsent(key, node);
+        if (existing != null) {
+            existing.value = outcome;
+            recordRead(existing);
+            return;
+        }
+        writeBuffer.add(node);
+        drainBuffers();
+    }
+
+    /**
+     * Removes every cached outcome. Statistics are kept.
+     */
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            entries.clear();
+            // Buffered reads and writes now refer to removed entries and are skipped
+            drainReadBuffers();
+            drainWriteBuffer();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of cached outcomes. While other threads add entries it may briefly
+     * exceed the maximum size, until their additions are replayed into the policy.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that found an outcome.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found nothing.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of outcomes evicted to respect the size bound.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups that were hits, or 0 if there were no lookups.
+     */
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Buffers a hit (the entry's node) or a miss (the key) for the policy.
+     */
+    private void recordRead(Object access) {
+        long threadId = Thread.currentThread().threadId();
+        int stripe = (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32) & (readBuffers.length - 1);
+        if (readBuffers[stripe].offer(access)) {
+            drainBuffers();
+        }
+    }
+
+    /**
+     * Replays buffered reads and writes into the policy unless another thread is doing so.
+     * A write added while another thread held the lock is picked up by that thread's final
+     * check of the write buffer, so writes are never left behind.
+     */
+    private void drainBuffers() {
+        do {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                drainReadBuffers();
+                drainWriteBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        } while (!writeBuffer.isEmpty());
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer buffer : readBuffers) {
+            Object access;
+            while ((access = buffer.poll()) != null) {
+                if (access instanceof Node node) {
+                    sketch.increment(node.key.hashCode());
+                    if (node.queue != PENDING && entries.get(node.key) == node) {
+                        onAccess(node);
+                    }
+                } else {
+                    sketch.increment(access.hashCode());
+                }
+            }
+        }
+    }
+
+    private void drainWriteBuffer() {
+        Node node;
+        while ((node = writeBuffer.poll()) != null) {
+            if (entries.get(node.key) != node) {
+                continue;
+            }
+            window.addLast(node, WINDOW);
+            if (window.size > windowMaximum) {
+                Node candidate = window.removeFirst();
+                probation.addLast(candidate, PROBATION);
+                if (window.size + probation.size + protectedQueue.size > maximumSize) {
+                    evictFromMain(candidate);
+                }
+            }
+        }
+    }
+
+    private void onAccess(Node node) {
+        switch (node.queue) {
+            case WINDOW -> window.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                protectedQueue.addLast(node, PROTECTED);
+                if (protectedQueue.size > protectedMaximum) {
+                    probation.addLast(protectedQueue.removeFirst(), PROBATION);
+                }
+            }
+            default -> protectedQueue.moveToLast(node);
+        }
+    }
+
+    /**
+     * Evicts either the candidate that just left the window or the main space's victim,
+     * keeping whichever was used more often recently.
+     */
+    private void evictFromMain(Node candidate) {
+        Node victim = probation.first();
+        if (victim == candidate) {
+            victim = protectedQueue.first();
+        }
+        Node evicted = candidate;
+        if (victim != null
+                && sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+            evicted = victim;
+        }
+        if (evicted.queue == PROTECTED) {
+            protectedQueue.remove(evicted);
+        } else {
+            probation.remove(evicted);
+        }
+        entries.remove(evicted.key, evicted);
+        evictions.increment();
+    }
+
+    private static final class Node {
+        private final ProgramKey key;
+        private volatile ProgramOutcome value;
+        // Policy state, guarded by the eviction lock
+        private int queue = PENDING;
+        private Node previous;
+        private Node next;
+
+        Node(ProgramKey key, ProgramOutcome value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bounded ring buffer written by many threads and read by the thread holding the eviction
+     * lock. A writer claims a slot by advancing the write count and then publishes into it, so
+     * the reader stops at a claimed slot that is still empty and picks it up next time.
+     */
+    private static final class ReadBuffer {
+        private static final int SIZE = 16;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writeCount = new AtomicLong();
+        private volatile long readCount;
+
+        /**
+         * Adds a read unless the buffer is full or another thread claimed the slot first.
+         *
+         * @return true if the buffer is full and should be drained
+         */
+        boolean offer(Object access) {
+            long tail = writeCount.get();
+            long size = tail - readCount;
+            if (size >= SIZE) {
+                return true;
+            }
+            if (writeCount.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) tail & MASK, access);
+                return size + 1 >= SIZE;
+            }
+            return false;
+        }
+
+        /**
+         * Removes the oldest published read; only called with the eviction lock held.
+         *
+         * @return The read, or null if none is published
+         */
+        Object poll() {
+            long head = readCount;
+            if (head == writeCount.get()) {
+                return null;
+            }
+            int index = (int) head & MASK;
+            Object access = slots.get(index);
+            if (access != null) {
+                slots.lazySet(index, null);
+                readCount = head + 1;
+            }
+            return access;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list ordered from least to most recently used.
+     */
+    private static final class AccessQueue {
+        private Node head;
+        private Node tail;
+        private int size;
+
+        Node first() {
+            return head;
+        }
+
+        void addLast(Node node, int queue) {
+            node.queue = queue;
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        Node removeFirst() {
+            Node node = head;
+            remove(node);
+            return node;
+        }
+
+        void remove(Node node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node node) {
+            if (node != tail) {
+                int queue = node.queue;
+                remove(node);
+                addLast(node, queue);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
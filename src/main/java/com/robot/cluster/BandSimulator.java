@@ -0,0 +1,232 @@
+package com.robot.cluster;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Room;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Simulates the robots of one {@link RowBand}, one tick at a time.
+ * <p>
+ * Every robot executes one command per tick, decided against the state at the start of the
+ * tick: turns always succeed, and a forward move succeeds if the target cell is inside the
+ * room, was empty at the start of the tick, and no robot with a lower ID targets the same
+ * cell. Decisions therefore never depend on processing order or on how the room is split,
+ * which keeps partitioned runs identical to a single-node run.
+ * <p>
+ * To decide the moves next to a border, the band needs the neighbour's robots in the
+ * {@value #HALO_ROWS} rows beyond it: the first row for occupancy, the second for robots
+ * competing for the same first-row cell.
+ */
+final class BandSimulator {
+    static final int HALO_ROWS = 2;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final RowBand band;
+    private final int width;
+    private final int height;
+    private final List<Agent> agents = new ArrayList<>();
+    // Agents in the halo rows the previous and the next neighbour need, kept up to date by add and step
+    private final List<Agent> previousBorder = new ArrayList<>();
+    private final List<Agent> nextBorder = new ArrayList<>();
+
+    // Cells of the band plus halo rows; occupant and lowest claiming robot, both as ID + 1
+    private final int windowFirstRow;
+    private final int windowEndRow;
+    private final int[] occupied;
+    private final int[] claimed;
+    private int[] touched = new int[64];
+    private int touchedCount;
+
+    BandSimulator(Room room, RowBand band) {
+        this.band = band;
+        this.width = room.width();
+        this.height = room.height();
+        this.windowFirstRow = Math.max(0, band.firstRow() - HALO_ROWS);
+        this.windowEndRow = Math.min(height, band.endRow() + HALO_ROWS);
+        int cells = Math.multiplyExact(width, windowEndRow - windowFirstRow);
+        this.occupied = new int[cells];
+        this.claimed = new int[cells];
+    }
+
+    /**
+     * Adds a robot located in this band.
+     */
+    void add(ClusterRobot robot) {
+        if (!band.owns(robot.y()) || robot.x() < 0 || robot.x() >= width) {
+            throw new IllegalArgumentException("Robot " + robot.id() + " is outside band " + band);
+        }
+        Agent agent = new Agent(robot);
+        agents.add(agent);
+        addToBorder(agent);
+    }
+
+    /**
+     * Returns this band's robots in the rows bordering a neighbour, with their commands for the tick.
+     *
+     * @param previous true for the neighbour owning the rows below, false for the one above
+     */
+    List<HaloRobot> halo(boolean previous, int tick) {
+        List<Agent> border = previous ? previousBorder : nextBorder;
+        List<HaloRobot> halo = new ArrayList<>(border.size());
+        for (Agent agent : border) {
+            halo.add(new HaloRobot(agent.id, agent.x, agent.y, agent.direction, agent.commandAt(tick)));
+        }
+        return halo;
+    }
+
+    /**
+     * Executes one tick for every robot in the band.
+     *
+     * @param tick The tick to execute
+     * @param neighbours Robots of both neighbours in the halo rows, with their commands for the tick
+     * @return Robots that left the band, to be handed to the neighbours
+     */
+    Migration step(int tick, List<HaloRobot> neighbours) {
+        for (Agent agent : agents) {
+            mark(occupied, cell(agent.x, agent.y), agent.id + 1);
+        }
+        for (HaloRobot robot : neighbours) {
+            if (inWindow(robot.x(), robot.y())) {
+                mark(occupied, cell(robot.x(), robot.y()), robot.id() + 1);
+            }
+        }
+
+        for (Agent agent : agents) {
+            if (agent.commandAt(tick) == 'F') {
+                claim(agent.id, agent.x + DIRECTIONS[agent.direction].dx(), agent.y + DIRECTIONS[agent.direction].dy());
+            }
+        }
+        for (HaloRobot robot : neighbours) {
+            if (robot.command() == 'F') {
+                claim(robot.id(), robot.x() + DIRECTIONS[robot.direction()].dx(),
+                        robot.y() + DIRECTIONS[robot.direction()].dy());
+            }
+        }
+
+        List<ClusterRobot> toPrevious = new ArrayList<>();
+        List<ClusterRobot> toNext = new ArrayList<>();
+        previousBorder.clear();
+        nextBorder.clear();
+        int kept = 0;
+        for (int i = 0; i < agents.size(); i++) {
+            Agent agent = agents.get(i);
+            switch (agent.commandAt(tick)) {
+                case 'L' -> agent.direction = (agent.direction + 3) & 3;
+                case 'R' -> agent.direction = (agent.direction + 1) & 3;
+                case 'F' -> {
+                    int nx = agent.x + DIRECTIONS[agent.direction].dx();
+                    int ny = agent.y + DIRECTIONS[agent.direction].dy();
+                    if (inWindow(nx, ny) && occupied[cell(nx, ny)] == 0 && claimed[cell(nx, ny)] == agent.id + 1) {
+                        agent.x = nx;
+                        agent.y = ny;
+                    }
+                }
+                default -> {
+                }
+            }
+            if (agent.y < band.firstRow()) {
+                toPrevious.add(agent.toRobot());
+            } else if (agent.y >= band.endRow()) {
+                toNext.add(agent.toRobot());
+            } else {
+                agents.set(kept++, agent);
+                addToBorder(agent);
+            }
+        }
+        agents.subList(kept, agents.size()).clear();
+
+        for (int i = 0; i < touchedCount; i++) {
+            occupied[touched[i]] = 0;
+            claimed[touched[i]] = 0;
+        }
+        touchedCount = 0;
+        return new Migration(toPrevious, toNext);
+    }
+
+    /**
+     * Returns the band's robots ordered by ID.
+     */
+    List<ClusterRobot> robots() {
+        List<ClusterRobot> robots = new ArrayList<>(agents.size());
+        for (Agent agent : agents) {
+            robots.add(agent.toRobot());
+        }
+        robots.sort(Comparator.comparingInt(ClusterRobot::id));
+        return robots;
+    }
+
+    int size() {
+        return agents.size();
+    }
+
+    private void addToBorder(Agent agent) {
+        if (agent.y < band.firstRow() + HALO_ROWS) {
+            previousBorder.add(agent);
+        }
+        if (agent.y >= band.endRow() - HALO_ROWS) {
+            nextBorder.add(agent);
+        }
+    }
+
+    private void claim(int id, int x, int y) {
+        // Targets outside the window can only be contested by robots this band does not decide
+        if (!inWindow(x, y)) {
+            return;
+        }
+        int cell = cell(x, y);
+        if (occupied[cell] == 0 && (claimed[cell] == 0 || id + 1 < claimed[cell])) {
+            mark(claimed, cell, id + 1);
+        }
+    }
+
+    private void mark(int[] grid, int cell, int value) {
+        if (touchedCount == touched.length) {
+            touched = Arrays.copyOf(touched, touchedCount * 2);
+        }
+        touched[touchedCount++] = cell;
+        grid[cell] = value;
+    }
+
+    private boolean inWindow(int x, int y) {
+        return x >= 0 && x < width && y >= windowFirstRow && y < windowEndRow;
+    }
+
+    private int cell(int x, int y) {
+        return (y - windowFirstRow) * width + x;
+    }
+
+    /**
+     * Robots leaving the band during a tick.
+     */
+    record Migration(List<ClusterRobot> toPrevious, List<ClusterRobot> toNext) {
+    }
+
+    private static final class Agent {
+        private final int id;
+        private final String program;
+        private int x;
+        private int y;
+        private int direction;
+
+        Agent(ClusterRobot robot) {
+            this.id = robot.id();
+            this.program = robot.program();
+            this.x = robot.x();
+            this.y = robot.y();
+            this.direction = robot.direction().ordinal();
+        }
+
+        char commandAt(int tick) {
+            return tick < program.length() ? program.charAt(tick) : 0;
+        }
+
+        ClusterRobot toRobot() {
+            return new ClusterRobot(id, x, y, DIRECTIONS[direction], program);
+        }
+    }
+}
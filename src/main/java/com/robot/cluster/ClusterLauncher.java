@@ -0,0 +1,162 @@
+package com.robot.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Runs a partitioned simulation as one {@link PartitionNode} process per row band on this host
+ * and merges their results.
+ * <p>
+ * All processes are watched together: as soon as one fails or the run exceeds its timeout,
+ * the others are killed. The working directory with the node outputs, logs and published
+ * ports is deleted afterwards.
+ */
+public final class ClusterLauncher {
+    private static final Logger log = LoggerFactory.getLogger(ClusterLauncher.class);
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(30);
+    private static final long POLL_MILLIS = 100;
+    private static final int LOG_TAIL_LINES = 20;
+
+    private ClusterLauncher() {
+    }
+
+    /**
+     * Runs the fleet for the given number of ticks split over {@code nodes} processes, allowing
+     * the whole run 30 minutes.
+     *
+     * @see #run(int, int, int, int, Path, Path, Duration)
+     */
+    public static List<ClusterRobot> run(int nodes, int width, int height, int ticks, Path fleet, Path output)
+            throws IOException, InterruptedException {
+        return run(nodes, width, height, ticks, fleet, output, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Runs the fleet for the given number of ticks split over {@code nodes} processes.
+     *
+     * @param nodes Number of processes
+     * @param width Room width
+     * @param height Room height
+     * @param ticks Number of ticks
+     * @param fleet Fleet file with every robot
+     * @param output File receiving the final fleet, ordered by ID
+     * @param timeout Time allowed for all processes to finish
+     * @return The final fleet, ordered by ID
+     * @throws IOException if a process cannot be started, fails or does not finish in time
+     * @throws InterruptedException if interrupted while waiting for the processes
+     */
+    public static List<ClusterRobot> run(int nodes, int width, int height, int ticks, Path fleet, Path output,
+                                         Duration timeout) throws IOException, InterruptedException {
+        Path workDir = Files.createTempDirectory("robot-cluster");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<Process> processes = new ArrayList<>();
+        List<ClusterRobot> robots = new ArrayList<>();
+        try {
+            for (int node = 0; node < nodes; node++) {
+                List<String> command = List.of(java, "-cp", System.getProperty("java.class.path"),
+                        PartitionNode.class.getName(), String.valueOf(node), String.valueOf(nodes),
+                        String.valueOf(width), String.valueOf(height), String.valueOf(ticks), fleet.toString(),
+                        output(workDir, node).toString(), workDir.toString());
+                File logFile = logFile(workDir, node).toFile();
+                processes.add(new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(logFile).start());
+            }
+            awaitAll(processes, workDir, timeout);
+            for (int node = 0; node < nodes; node++) {
+                robots.addAll(FleetFile.read(output(workDir, node)));
+            }
+        } finally {
+            for (Process process : processes) {
+                process.destroyForcibly();
+            }
+            deleteWorkDir(workDir);
+        }
+
+        robots.sort(Comparator.comparingInt(ClusterRobot::id));
+        FleetFile.write(output, robots);
+        log.debug("Merged {} robots from {} nodes", robots.size(), nodes);
+        return robots;
+    }
+
+    /**
+     * Polls every process until all exited successfully, failing fast on the first error.
+     */
+    private static void awaitAll(List<Process> processes, Path workDir, Duration timeout)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Integer> running = new ArrayList<>();
+        for (int node = 0; node < processes.size(); node++) {
+            running.add(node);
+        }
+        while (!running.isEmpty()) {
+            for (int i = running.size() - 1; i >= 0; i--) {
+                int node = running.get(i);
+                Process process = processes.get(node);
+                if (!process.isAlive()) {
+                    if (process.exitValue() != 0) {
+                        throw new IOException("Node " + node + " exited with " + process.exitValue() + ":"
+                                + System.lineSeparator() + logTail(workDir, node));
+                    }
+                    running.remove(i);
+                }
+            }
+            if (running.isEmpty()) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Nodes " + running + " did not finish within " + timeout);
+            }
+            processes.get(running.get(0)).waitFor(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static String logTail(Path workDir, int node) throws IOException {
+        List<String> lines = Files.readAllLines(logFile(workDir, node));
+        return String.join(System.lineSeparator(), lines.subList(Math.max(0, lines.size() - LOG_TAIL_LINES), lines.size()));
+    }
+
+    private static void deleteWorkDir(Path workDir) {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete cluster working directory {}", workDir, e);
+        }
+    }
+
+    private static Path output(Path workDir, int node) {
+        return workDir.resolve("node-" + node + ".txt");
+    }
+
+    private static Path logFile(Path workDir, int node) {
+        return workDir.resolve("node-" + node + ".log");
+    }
+
+    /**
+     * Usage: {@code ClusterLauncher <nodes> <width> <height> <ticks> <fleet-file> <output-file>}
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 6) {
+            System.out.println("Usage: ClusterLauncher <nodes> <width> <height> <ticks> <fleet-file> <output-file>");
+            return;
+        }
+        long start = System.nanoTime();
+        List<ClusterRobot> robots = run(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), Integer.parseInt(args[3]), Path.of(args[4]), Path.of(args[5]));
+        System.out.printf("Simulated %d robots on %s nodes in %d ms%n", robots.size(), args[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,39 @@
+package com.robot.cluster;
+
+import com.robot.domain.Direction;
+
+/**
+ * A robot in a partitioned simulation: its pose and the program it runs, one command per tick.
+ *
+ * @param id Global identifier; lower IDs win when two robots move into the same cell
+ * @param x The x-coordinate
+ * @param y The y-coordinate
+ * @param direction The facing direction
+ * @param program L/R/F commands; command {@code t} is executed at tick {@code t}
+ */
+public record ClusterRobot(int id, int x, int y, Direction direction, String program) {
+
+    /**
+     * Validates the robot.
+     *
+     * @throws IllegalArgumentException if the ID is negative or the program contains an unknown command
+     */
+    public ClusterRobot {
+        if (id < 0) {
+            throw new IllegalArgumentException("Robot ID cannot be negative: " + id);
+        }
+        for (int i = 0; i < program.length(); i++) {
+            char command = program.charAt(i);
+            if (command != 'F' && command != 'L' && command != 'R') {
+                throw new IllegalArgumentException("Invalid command: " + command);
+            }
+        }
+    }
+
+    /**
+     * Returns the command executed at the given tick, or 0 once the program has finished.
+     */
+    public char commandAt(int tick) {
+        return tick < program.length() ? program.charAt(tick) : 0;
+    }
+}
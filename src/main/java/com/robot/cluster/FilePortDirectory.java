@@ -0,0 +1,50 @@
+package com.robot.cluster;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Publishes each node's port as a {@code node-<index>.port} file, written to a temporary name
+ * and moved into place atomically so that readers never see a partial file.
+ */
+final class FilePortDirectory implements PortDirectory {
+    private static final long POLL_MILLIS = 20;
+
+    private final Path dir;
+
+    FilePortDirectory(Path dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public void publish(int node, int port) throws IOException {
+        Path temporary = dir.resolve("node-" + node + ".port.tmp");
+        Files.writeString(temporary, String.valueOf(port), StandardCharsets.US_ASCII);
+        Files.move(temporary, portFile(node), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public int lookup(int node, long timeoutMillis) throws IOException {
+        Path file = portFile(node);
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!Files.exists(file)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Node " + node + " did not publish its port within " + timeoutMillis + " ms");
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the port of node " + node, e);
+            }
+        }
+        return Integer.parseInt(Files.readString(file, StandardCharsets.US_ASCII).trim());
+    }
+
+    private Path portFile(int node) {
+        return dir.resolve("node-" + node + ".port");
+    }
+}
@@ -0,0 +1,80 @@
+package com.robot.cluster;
+
+import com.robot.domain.Direction;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes fleets for partitioned runs, one robot per line: {@code id x y direction program}.
+ * An empty program is written as {@code -}.
+ */
+public final class FleetFile {
+    private static final String DIRECTION_SYMBOLS = "NESW";
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private FleetFile() {
+    }
+
+    /**
+     * Reads a fleet file.
+     *
+     * @param file The file to read
+     * @return The robots in file order
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static List<ClusterRobot> read(Path file) throws IOException {
+        List<ClusterRobot> robots = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    robots.add(parse(line.trim()));
+                }
+            }
+        }
+        return robots;
+    }
+
+    /**
+     * Writes a fleet file.
+     *
+     * @param file The file to write
+     * @param robots The robots to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, List<ClusterRobot> robots) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (ClusterRobot robot : robots) {
+                writer.write(robot.id() + " " + robot.x() + " " + robot.y() + " "
+                        + DIRECTION_SYMBOLS.charAt(robot.direction().ordinal()) + " "
+                        + (robot.program().isEmpty() ? "-" : robot.program()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static ClusterRobot parse(String line) {
+        String[] fields = line.split("\\s+");
+        if (fields.length != 5 || fields[3].length() != 1) {
+            throw new IllegalArgumentException("Invalid fleet line: " + line);
+        }
+        int direction = DIRECTION_SYMBOLS.indexOf(Character.toUpperCase(fields[3].charAt(0)));
+        if (direction < 0) {
+            throw new IllegalArgumentException("Invalid direction in fleet line: " + line);
+        }
+        try {
+            return new ClusterRobot(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                    Integer.parseInt(fields[2]), DIRECTIONS[direction], "-".equals(fields[4]) ? "" : fields[4]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in fleet line: " + line, e);
+        }
+    }
+}
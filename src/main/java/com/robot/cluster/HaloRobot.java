@@ -0,0 +1,17 @@
+package com.robot.cluster;
+
+/**
+ * A neighbour's robot near the band border, with the command it executes this tick.
+ *
+ * @param id Global identifier
+ * @param x The x-coordinate
+ * @param y The y-coordinate
+ * @param direction Direction ordinal
+ * @param command Command character for this tick, or 0 if idle
+ */
+record HaloRobot(int id, int x, int y, int direction, char command) {
+
+    static HaloRobot of(ClusterRobot robot, int tick) {
+        return new HaloRobot(robot.id(), robot.x(), robot.y(), robot.direction().ordinal(), robot.commandAt(tick));
+    }
+}
@@ -0,0 +1,41 @@
+package com.robot.cluster;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hands ports between nodes running as threads of one JVM.
+ */
+final class LocalPortDirectory implements PortDirectory {
+    private final CompletableFuture<Integer>[] ports;
+
+    @SuppressWarnings("unchecked")
+    LocalPortDirectory(int nodes) {
+        ports = new CompletableFuture[nodes];
+        for (int i = 0; i < nodes; i++) {
+            ports[i] = new CompletableFuture<>();
+        }
+    }
+
+    @Override
+    public void publish(int node, int port) {
+        ports[node].complete(port);
+    }
+
+    @Override
+    public int lookup(int node, long timeoutMillis) throws IOException {
+        try {
+            return ports[node].get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IOException("Node " + node + " did not publish its port within " + timeoutMillis + " ms", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Node " + node + " failed to publish its port", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the port of node " + node, e);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.robot.cluster;
+
+import com.robot.domain.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One process of a partitioned simulation, owning a {@link RowBand} of the room.
+ * <p>
+ * Nodes are chained by row: node k listens on an ephemeral port published through a
+ * {@link PortDirectory}, accepts node k - 1 and connects to node k + 1, all over loopback TCP.
+ * Every tick each node sends each neighbour a {@link TickMessage} with the robots handed over
+ * to it and its robots in the halo rows, then receives the neighbour's message and executes
+ * the tick. Sends run on a separate
+ * thread so that two neighbours writing large messages to each other cannot deadlock.
+ * Accepts and reads time out, so a node whose neighbour died fails instead of hanging.
+ */
+public class PartitionNode implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(PartitionNode.class);
+
+    private static final int MAGIC = 0x52424E44; // "RBND"
+    private static final long CONNECT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final int READ_TIMEOUT_MILLIS = (int) TimeUnit.SECONDS.toMillis(60);
+
+    private final Room room;
+    private final RowBand band;
+    private final BandSimulator simulator;
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "partition-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Link previous;
+    private Link next;
+
+    /**
+     * Creates a node of a partitioned simulation.
+     *
+     * @param room The whole logical room
+     * @param node Index of this node
+     * @param nodes Number of nodes
+     * @throws IllegalArgumentException if the node index or the number of nodes is invalid for the room
+     */
+    public PartitionNode(Room room, int node, int nodes) {
+        this.room = room;
+        this.band = RowBand.of(room, nodes, node);
+        this.simulator = new BandSimulator(room, band);
+        log.info("Node {} of {} owns rows {} to {}", node, nodes, band.firstRow(), band.endRow() - 1);
+    }
+
+    /**
+     * Adds the robots located in this node's band; robots in other bands are ignored.
+     * The whole fleet is validated, so every node of a run rejects the same invalid fleet.
+     *
+     * @param robots Robots of the whole room
+     * @throws IllegalArgumentException if a robot is outside the room or two robots start in the same cell
+     */
+    public void load(List<ClusterRobot> robots) {
+        Map<Long, Integer> starts = new HashMap<>(robots.size() * 2);
+        for (ClusterRobot robot : robots) {
+            if (robot.x() < 0 || robot.x() >= room.width() || robot.y() < 0 || robot.y() >= room.height()) {
+                throw new IllegalArgumentException("Robot " + robot.id() + " at (" + robot.x() + ", " + robot.y()
+                        + ") is outside the " + room.width() + "x" + room.height() + " room");
+            }
+            Integer other = starts.putIfAbsent(((long) robot.x() << 32) | robot.y(), robot.id());
+            if (other != null) {
+                throw new IllegalArgumentException("Robots " + other + " and " + robot.id() + " both start at ("
+                        + robot.x() + ", " + robot.y() + ")");
+            }
+        }
+        for (ClusterRobot robot : robots) {
+            if (band.owns(robot.y())) {
+                simulator.add(robot);
+            }
+        }
+        log.debug("Node {} loaded {} robots", band.node(), simulator.size());
+    }
+
+    /**
+     * Connects to the neighbouring nodes. All nodes must call this concurrently with the same
+     * directory.
+     *
+     * @param ports Where nodes publish and look up their listening ports
+     * @throws IOException if a neighbour cannot be reached in time
+     */
+    public void connect(PortDirectory ports) throws IOException {
+        ServerSocket server = null;
+        try {
+            if (band.hasPrevious()) {
+                server = new ServerSocket();
+                server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                server.setSoTimeout((int) CONNECT_TIMEOUT_MILLIS);
+                ports.publish(band.node(), server.getLocalPort());
+            }
+            // Connecting first is safe: the next node binds its port before publishing it
+            if (band.hasNext()) {
+                next = new Link(connect(ports.lookup(band.node() + 1, CONNECT_TIMEOUT_MILLIS)));
+                next.handshake(band.node());
+            }
+            if (server != null) {
+                previous = new Link(server.accept());
+                previous.handshake(band.node());
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+        log.debug("Node {} connected to its neighbours", band.node());
+    }
+
+    /**
+     * Runs the given number of ticks in lock-step with the other nodes.
+     *
+     * @param ticks Number of ticks to execute
+     * @throws IOException if a neighbour fails
+     */
+    public void run(int ticks) throws IOException {
+        List<ClusterRobot> toPrevious = List.of();
+        List<ClusterRobot> toNext = List.of();
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            List<HaloRobot> neighbours = exchange(tick, toPrevious, toNext);
+            BandSimulator.Migration migration = simulator.step(tick, neighbours);
+            toPrevious = migration.toPrevious();
+            toNext = migration.toNext();
+        }
+        // Hand over robots that crossed a border during the last tick
+        exchange(ticks, toPrevious, toNext);
+        log.info("Node {} ran {} ticks in {} ms with {} robots left", band.node(), ticks,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), simulator.size());
+    }
+
+    /**
+     * Returns the robots currently owned by this node, ordered by ID.
+     */
+    public List<ClusterRobot> robots() {
+        return simulator.robots();
+    }
+
+    private List<HaloRobot> exchange(int tick, List<ClusterRobot> toPrevious, List<ClusterRobot> toNext)
+            throws IOException {
+        CompletableFuture<Void> sendPrevious = send(previous, new TickMessage(tick, toPrevious, simulator.halo(true, tick)));
+        CompletableFuture<Void> sendNext = send(next, new TickMessage(tick, toNext, simulator.halo(false, tick)));
+        List<HaloRobot> neighbours = new ArrayList<>();
+        receive(previous, tick, toPrevious, neighbours);
+        receive(next, tick, toNext, neighbours);
+        try {
+            sendPrevious.join();
+            sendNext.join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to send tick " + tick, e.getCause());
+        }
+        return neighbours;
+    }
+
+    private CompletableFuture<Void> send(Link link, TickMessage message) {
+        if (link == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                message.writeTo(link.out);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, sender);
+    }
+
+    private void receive(Link link, int tick, List<ClusterRobot> handedOver, List<HaloRobot> neighbours)
+            throws IOException {
+        if (link == null) {
+            return;
+        }
+        TickMessage message = TickMessage.readFrom(link.in);
+        if (message.tick() != tick) {
+            throw new IOException("Neighbour out of step: expected tick " + tick + " but got " + message.tick());
+        }
+        message.migrants().forEach(simulator::add);
+        neighbours.addAll(message.halo());
+        // Robots just handed over are the neighbour's now, but its halo was built before receiving them
+        for (ClusterRobot robot : handedOver) {
+            neighbours.add(HaloRobot.of(robot, tick));
+        }
+    }
+
+    private static Socket connect(int port) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), (int) CONNECT_TIMEOUT_MILLIS);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        return socket;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sender.shutdownNow();
+        if (previous != null) {
+            previous.socket.close();
+        }
+        if (next != null) {
+            next.socket.close();
+        }
+    }
+
+    /**
+     * Runs one node as a process.
+     * Usage: {@code PartitionNode <node> <nodes> <width> <height> <ticks> <fleet-file> <output-file> <port-dir>}
+     * where all nodes share the port directory.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 8) {
+            System.out.println("Usage: PartitionNode <node> <nodes> <width> <height> <ticks> <fleet-file> <output-file> <port-dir>");
+            return;
+        }
+        int node = Integer.parseInt(args[0]);
+        int nodes = Integer.parseInt(args[1]);
+        Room room = new Room(Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+        int ticks = Integer.parseInt(args[4]);
+        try (PartitionNode partition = new PartitionNode(room, node, nodes)) {
+            partition.load(FleetFile.read(Path.of(args[5])));
+            partition.connect(PortDirectory.inDirectory(Path.of(args[7])));
+            partition.run(ticks);
+            FleetFile.write(Path.of(args[6]), partition.robots());
+        }
+    }
+
+    private static final class Link {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Link(Socket socket) throws IOException {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        }
+
+        void handshake(int node) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeInt(node);
+            out.flush();
+            int magic = in.readInt();
+            int other = in.readInt();
+            if (magic != MAGIC || Math.abs(other - node) != 1) {
+                throw new IOException("Unexpected peer on partition link: node " + other);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.robot.cluster;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Where partition nodes publish the loopback port they listen on and find the ports of their
+ * neighbours. Each node binds an ephemeral port and publishes it, so no port is chosen before
+ * it is bound.
+ */
+public interface PortDirectory {
+
+    /**
+     * Publishes the port a node accepts its previous neighbour on.
+     *
+     * @param node Index of the node
+     * @param port The bound port
+     * @throws IOException if the port cannot be published
+     */
+    void publish(int node, int port) throws IOException;
+
+    /**
+     * Waits until a node has published its port.
+     *
+     * @param node Index of the node
+     * @param timeoutMillis How long to wait
+     * @return The node's port
+     * @throws IOException if the port is not published in time
+     */
+    int lookup(int node, long timeoutMillis) throws IOException;
+
+    /**
+     * Returns a directory shared by nodes in separate processes through files in {@code dir}.
+     */
+    static PortDirectory inDirectory(Path dir) {
+        return new FilePortDirectory(dir);
+    }
+
+    /**
+     * Returns a directory shared by nodes running in this JVM.
+     *
+     * @param nodes Number of nodes
+     */
+    static PortDirectory local(int nodes) {
+        return new LocalPortDirectory(nodes);
+    }
+}
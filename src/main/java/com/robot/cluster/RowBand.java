@@ -0,0 +1,63 @@
+package com.robot.cluster;
+
+import com.robot.domain.Room;
+
+/**
+ * The rows of a room owned by one node of a partitioned simulation.
+ *
+ * @param node Index of the owning node
+ * @param nodeCount Total number of nodes
+ * @param firstRow First owned row
+ * @param endRow Row after the last owned row
+ */
+public record RowBand(int node, int nodeCount, int firstRow, int endRow) {
+
+    /**
+     * Bands must be deep enough that robots migrating in from one neighbour never land in the
+     * halo rows the other neighbour needs, so halos can be sent before migrants arrive.
+     */
+    static final int MIN_ROWS = BandSimulator.HALO_ROWS + 1;
+
+    /**
+     * Splits the room into equal bands of rows and returns the band of one node.
+     *
+     * @param room The room to split
+     * @param nodeCount Number of nodes
+     * @param node Index of the node
+     * @return The node's band
+     * @throws IllegalArgumentException if the node index is invalid or the bands would be too thin
+     */
+    public static RowBand of(Room room, int nodeCount, int node) {
+        if (nodeCount <= 0 || node < 0 || node >= nodeCount) {
+            throw new IllegalArgumentException("Invalid node " + node + " of " + nodeCount);
+        }
+        if (nodeCount > 1 && room.height() / nodeCount < MIN_ROWS) {
+            throw new IllegalArgumentException("Room height " + room.height() + " too small for "
+                    + nodeCount + " nodes; each needs at least " + MIN_ROWS + " rows");
+        }
+        int firstRow = (int) ((long) room.height() * node / nodeCount);
+        int endRow = (int) ((long) room.height() * (node + 1) / nodeCount);
+        return new RowBand(node, nodeCount, firstRow, endRow);
+    }
+
+    /**
+     * Returns true if the row belongs to this band.
+     */
+    public boolean owns(int y) {
+        return y >= firstRow && y < endRow;
+    }
+
+    /**
+     * Returns true if a node owns the rows below this band.
+     */
+    public boolean hasPrevious() {
+        return node > 0;
+    }
+
+    /**
+     * Returns true if a node owns the rows above this band.
+     */
+    public boolean hasNext() {
+        return node < nodeCount - 1;
+    }
+}
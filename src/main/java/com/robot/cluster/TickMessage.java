@@ -0,0 +1,70 @@
+package com.robot.cluster;
+
+import com.robot.domain.Direction;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-tick message between neighbouring nodes: robots handed over to the receiver and the
+ * sender's robots in the rows next to the shared border.
+ * <p>
+ * Wire format, big-endian: tick (int), migrant count (int), then per migrant id, x, y (int),
+ * direction ordinal (byte), program length (int) and program (ASCII); halo count (int), then
+ * per halo robot id, x, y (int), direction ordinal (byte) and command (byte, 0 if idle).
+ *
+ * @param tick The tick the halo describes
+ * @param migrants Robots that moved into the receiver's band during the previous tick
+ * @param halo The sender's robots in the rows bordering the receiver
+ */
+record TickMessage(int tick, List<ClusterRobot> migrants, List<HaloRobot> halo) {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(tick);
+        out.writeInt(migrants.size());
+        for (ClusterRobot robot : migrants) {
+            out.writeInt(robot.id());
+            out.writeInt(robot.x());
+            out.writeInt(robot.y());
+            out.writeByte(robot.direction().ordinal());
+            byte[] program = robot.program().getBytes(StandardCharsets.US_ASCII);
+            out.writeInt(program.length);
+            out.write(program);
+        }
+        out.writeInt(halo.size());
+        for (HaloRobot robot : halo) {
+            out.writeInt(robot.id());
+            out.writeInt(robot.x());
+            out.writeInt(robot.y());
+            out.writeByte(robot.direction());
+            out.writeByte(robot.command());
+        }
+        out.flush();
+    }
+
+    static TickMessage readFrom(DataInputStream in) throws IOException {
+        int tick = in.readInt();
+        int migrantCount = in.readInt();
+        List<ClusterRobot> migrants = new ArrayList<>(migrantCount);
+        for (int i = 0; i < migrantCount; i++) {
+            int id = in.readInt();
+            int x = in.readInt();
+            int y = in.readInt();
+            Direction direction = DIRECTIONS[in.readByte()];
+            byte[] program = new byte[in.readInt()];
+            in.readFully(program);
+            migrants.add(new ClusterRobot(id, x, y, direction, new String(program, StandardCharsets.US_ASCII)));
+        }
+        int haloCount = in.readInt();
+        List<HaloRobot> halo = new ArrayList<>(haloCount);
+        for (int i = 0; i < haloCount; i++) {
+            halo.add(new HaloRobot(in.readInt(), in.readInt(), in.readInt(), in.readByte(), (char) in.readByte()));
+        }
+        return new TickMessage(tick, migrants, halo);
+    }
+}
@@ -8,22 +8,27 @@ import org.slf4j.LoggerFactory;
  * Provides functionality for direction symbols, parsing, and rotation operations.
  */
 public enum Direction {
-    NORTH('N'),
-    EAST('E'),
-    SOUTH('S'),
-    WEST('W');
+    NORTH('N', 0, 1),
+    EAST('E', 1, 0),
+    SOUTH('S', 0, -1),
+    WEST('W', -1, 0);
 
     private static final Logger logger = LoggerFactory.getLogger(Direction.class);
     private final char symbol;
+    private final int dx;
+    private final int dy;
 
     /**
-     * Constructs a Direction with its associated symbol.
+     * Constructs a Direction with its associated symbol and unit step.
      *
      * @param symbol Character representing the direction
+     * @param dx Change in x when moving one step in this direction
+     * @param dy Change in y when moving one step in this direction
      */
-    Direction(char symbol) {
+    Direction(char symbol, int dx, int dy) {
         this.symbol = symbol;
-
+        this.dx = dx;
+        this.dy = dy;
     }
 
     /**
@@ -35,6 +40,24 @@ public enum Direction {
         return symbol;
     }
 
+    /**
+     * Gets the change in x for one step forward in this direction.
+     *
+     * @return -1, 0 or 1
+     */
+    public int dx() {
+        return dx;
+    }
+
+    /**
+     * Gets the change in y for one step forward in this direction.
+     *
+     * @return -1, 0 or 1
+     */
+    public int dy() {
+        return dy;
+    }
+
     /**
      * Creates a Direction from its character symbol.
      *
@@ -3,11 +3,15 @@ package com.robot.domain;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Immutable record representing a rectangular room with defined width and height dimensions.
- * The room serves as the boundary container for robot movements.
+ * The room serves as the boundary container for robot movements, optionally divided into
+ * {@link Zone zones} with movement rules.
  */
-public record Room(int width, int height) {
+public record Room(int width, int height, ZoneMap zones) {
     private static final Logger log = LoggerFactory.getLogger(Room.class);
 
     /**
@@ -15,16 +19,52 @@ public record Room(int width, int height) {
      *
      * @param width The room width (must be positive)
      * @param height The room height (must be positive)
-     * @throws IllegalArgumentException if dimensions are not positive
+     * @param zones The zones of the room, indexed for a room of this size
+     * @throws IllegalArgumentException if dimensions are not positive or the zones were indexed for another size
      */
     public Room {
         if (width <= 0 || height <= 0) {
             log.error("Invalid room dimensions provided: width={}, height={}", width, height);
             throw new IllegalArgumentException("Room dimensions must be positive");
         }
+        Objects.requireNonNull(zones, "zones");
+        if (!zones.fits(width, height)) {
+            throw new IllegalArgumentException("Zones were indexed for a different room size");
+        }
         log.debug("Created new room with dimensions: {}x{}", width, height);
     }
 
+    /**
+     * Constructs a new Room without zones.
+     *
+     * @param width The room width (must be positive)
+     * @param height The room height (must be positive)
+     * @throws IllegalArgumentException if dimensions are not positive
+     */
+    public Room(int width, int height) {
+        this(width, height, ZoneMap.EMPTY);
+    }
+
+    /**
+     * Returns a room of the same size with the given zones, replacing any existing ones.
+     *
+     * @param zones Non-overlapping zones inside the room
+     * @return The new room
+     * @throws IllegalArgumentException if a zone lies outside the room or zones overlap
+     */
+    public Room withZones(Zone... zones) {
+        return new Room(width, height, ZoneMap.of(width, height, List.of(zones)));
+    }
+
+    /**
+     * Checks if the room has any zones.
+     *
+     * @return true if at least one zone is defined
+     */
+    public boolean hasZones() {
+        return !zones.isEmpty();
+    }
+
     /**
      * Checks if a given position falls within the room boundaries.
      *
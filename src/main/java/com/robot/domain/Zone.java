@@ -0,0 +1,111 @@
+package com.robot.domain;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Rectangular area of a room with movement rules.
+ * <p>
+ * A forbidden zone cannot be entered at all. A zone with a capacity admits at most that many
+ * robots at once, and a zone with entry directions can only be entered by robots facing one
+ * of them. Robots moving within a zone are not subject to the capacity or entry rules.
+ *
+ * @param name Name used in failure messages
+ * @param minX Smallest x-coordinate of the zone
+ * @param minY Smallest y-coordinate of the zone
+ * @param maxX Largest x-coordinate of the zone
+ * @param maxY Largest y-coordinate of the zone
+ * @param forbidden Whether robots may not enter the zone
+ * @param capacity Maximum number of robots inside the zone, or {@link #UNLIMITED}
+ * @param entryDirections Directions robots may face when entering the zone
+ */
+public record Zone(String name, int minX, int minY, int maxX, int maxY, boolean forbidden, int capacity,
+                   Set<Direction> entryDirections) {
+
+    /** Capacity of zones that admit any number of robots. */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * Validates the zone and copies the entry directions.
+     *
+     * @throws IllegalArgumentException if the rectangle is empty or negative, the capacity is not
+     *                                  positive or no entry direction is allowed
+     */
+    public Zone {
+        Objects.requireNonNull(name, "name");
+        if (minX < 0 || minY < 0 || minX > maxX || minY > maxY) {
+            throw new IllegalArgumentException("Invalid zone rectangle for " + name + ": ("
+                    + minX + ", " + minY + ") to (" + maxX + ", " + maxY + ")");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Zone capacity must be positive: " + capacity);
+        }
+        if (entryDirections.isEmpty()) {
+            throw new IllegalArgumentException("Zone " + name + " must allow at least one entry direction");
+        }
+        entryDirections = Collections.unmodifiableSet(EnumSet.copyOf(entryDirections));
+    }
+
+    /**
+     * Creates a zone without rules covering the inclusive rectangle.
+     *
+     * @param name Name used in failure messages
+     * @param minX Smallest x-coordinate of the zone
+     * @param minY Smallest y-coordinate of the zone
+     * @param maxX Largest x-coordinate of the zone
+     * @param maxY Largest y-coordinate of the zone
+     * @return The zone
+     */
+    public static Zone area(String name, int minX, int minY, int maxX, int maxY) {
+        return new Zone(name, minX, minY, maxX, maxY, false, UNLIMITED, EnumSet.allOf(Direction.class));
+    }
+
+    /**
+     * Returns a copy of this zone that robots may not enter.
+     */
+    public Zone forbid() {
+        return new Zone(name, minX, minY, maxX, maxY, true, capacity, entryDirections);
+    }
+
+    /**
+     * Returns a copy of this zone admitting at most the given number of robots.
+     *
+     * @param capacity Maximum number of robots inside the zone
+     */
+    public Zone withCapacity(int capacity) {
+        return new Zone(name, minX, minY, maxX, maxY, forbidden, capacity, entryDirections);
+    }
+
+    /**
+     * Returns a copy of this zone that can only be entered facing one of the given directions.
+     *
+     * @param directions Allowed entry directions
+     */
+    public Zone withEntryDirections(Direction... directions) {
+        return new Zone(name, minX, minY, maxX, maxY, forbidden, capacity, EnumSet.copyOf(List.of(directions)));
+    }
+
+    /**
+     * Checks if the zone covers the given cell.
+     */
+    public boolean contains(int x, int y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * Checks if a robot facing the given direction may enter the zone.
+     */
+    public boolean allowsEntry(Direction direction) {
+        return entryDirections.contains(direction);
+    }
+
+    /**
+     * Checks if the zone limits the number of robots inside it.
+     */
+    public boolean isCapacityLimited() {
+        return capacity != UNLIMITED;
+    }
+}
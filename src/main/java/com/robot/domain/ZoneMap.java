@@ -0,0 +1,129 @@
+package com.robot.domain;
+
+import java.util.List;
+
+/**
+ * The zones of a room, indexed by cell. Immutable.
+ * <p>
+ * Every cell stores the index of the zone covering it, so finding the rules for a move is a
+ * single array read regardless of the number of zones. Zones therefore must not overlap.
+ * How many robots are inside each zone is kept by the
+ * {@link com.robot.repository.RobotRepository} created for the room, not by the map, so
+ * the same room can be shared by any number of repositories.
+ */
+public final class ZoneMap {
+
+    /** Zone map of rooms without zones. */
+    public static final ZoneMap EMPTY = new ZoneMap(0, 0, List.of(), null);
+
+    // Zone indexes are stored in shorts, and the grid is refused for very large rooms
+    static final int MAX_ZONES = Short.MAX_VALUE;
+    static final int MAX_CELLS = 1 << 26;
+
+    private final int width;
+    private final int height;
+    private final List<Zone> zones;
+    // Zone index + 1 per cell, 0 where no zone applies; null for the empty map
+    private final short[] cells;
+
+    private ZoneMap(int width, int height, List<Zone> zones, short[] cells) {
+        this.width = width;
+        this.height = height;
+        this.zones = zones;
+        this.cells = cells;
+    }
+
+    /**
+     * Indexes zones for a room of the given size.
+     *
+     * @param width Room width
+     * @param height Room height
+     * @param zones The zones of the room
+     * @return The indexed zones
+     * @throws IllegalArgumentException if a zone lies outside the room, zones overlap, or there are
+     *                                  too many zones or cells to index
+     */
+    public static ZoneMap of(int width, int height, List<Zone> zones) {
+        if (zones.isEmpty()) {
+            return EMPTY;
+        }
+        if (zones.size() > MAX_ZONES) {
+            throw new IllegalArgumentException("Too many zones: " + zones.size());
+        }
+        long cellCount = (long) width * height;
+        if (cellCount > MAX_CELLS) {
+            throw new IllegalArgumentException("Room too large for zones: " + width + "x" + height);
+        }
+        short[] cells = new short[(int) cellCount];
+        for (int id = 0; id < zones.size(); id++) {
+            Zone zone = zones.get(id);
+            if (zone.maxX() >= width || zone.maxY() >= height) {
+                throw new IllegalArgumentException("Zone " + zone.name() + " extends outside the "
+                        + width + "x" + height + " room");
+            }
+            for (int y = zone.minY(); y <= zone.maxY(); y++) {
+                for (int x = zone.minX(); x <= zone.maxX(); x++) {
+                    int cell = y * width + x;
+                    if (cells[cell] != 0) {
+                        throw new IllegalArgumentException("Zone " + zone.name() + " overlaps zone "
+                                + zones.get(cells[cell] - 1).name() + " at (" + x + ", " + y + ")");
+                    }
+                    cells[cell] = (short) (id + 1);
+                }
+            }
+        }
+        return new ZoneMap(width, height, List.copyOf(zones), cells);
+    }
+
+    /**
+     * Returns the index of the zone covering a cell inside the room, or -1 if there is none.
+     */
+    public int zoneAt(int x, int y) {
+        return cells == null ? -1 : cells[y * width + x] - 1;
+    }
+
+    /**
+     * Returns the zone with the given index.
+     */
+    public Zone zone(int id) {
+        return zones.get(id);
+    }
+
+    /**
+     * Returns all zones, in index order.
+     */
+    public List<Zone> zones() {
+        return zones;
+    }
+
+    /**
+     * Checks if there are no zones.
+     */
+    public boolean isEmpty() {
+        return zones.isEmpty();
+    }
+
+    /**
+     * Checks if this map was built for a room of the given size; the empty map fits any room.
+     */
+    public boolean fits(int width, int height) {
+        return isEmpty() || (this.width == width && this.height == height);
+    }
+
+    /**
+     * Checks if any zone limits the number of robots inside it.
+     */
+    public boolean hasCapacityLimits() {
+        for (Zone zone : zones) {
+            if (zone.isCapacityLimited()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneMap" + zones;
+    }
+}
@@ -0,0 +1,310 @@
+package com.robot.event;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.service.SimulationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes robot movement events from a {@link com.robot.service.SimulationService} as a
+ * reactive stream.
+ * <p>
+ * Every subscriber gets its own lock-free ring buffer. The simulation thread only appends
+ * to those buffers and never waits: when a subscriber falls behind its demand, events are
+ * dropped or conflated according to the subscriber's {@link OverflowPolicy}. Delivery runs
+ * on the configured executor, at most one task per subscriber at a time, and all signals to a
+ * subscriber, including errors, come from that task. The executor must run tasks on other
+ * threads, and must not queue one subscriber's task behind another's: a direct or caller-runs
+ * executor calls {@code onNext} on the simulation thread, and a single-threaded executor lets
+ * one slow subscriber fill the other subscribers' buffers.
+ * <p>
+ * Register the publisher with {@code SimulationService.addListener} to start publishing.
+ */
+public class MovementEventPublisher implements Flow.Publisher<RobotEvent>, SimulationListener, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(MovementEventPublisher.class);
+
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024;
+    private static final ThreadFactory DELIVERY_THREADS = Thread.ofVirtual().name("movement-events-", 0).factory();
+
+    private final Executor executor;
+    private final int defaultCapacity;
+    private final OverflowPolicy defaultPolicy;
+    private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedEvents = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Creates a publisher that delivers to each subscriber on its own virtual thread, buffers
+     * {@link #DEFAULT_BUFFER_CAPACITY} events per subscriber and drops the newest event
+     * on overflow. A delivery thread exits once its subscriber's buffer is drained.
+     */
+    public MovementEventPublisher() {
+        this(runnable -> DELIVERY_THREADS.newThread(runnable).start(), DEFAULT_BUFFER_CAPACITY,
+                OverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * Creates a publisher with the given delivery executor and default subscriber settings.
+     *
+     * @param executor Executor running delivery to subscribers. It must run tasks on other
+     *                 threads than the submitting one except in tests, and run the tasks of
+     *                 different subscribers independently
+     * @param bufferCapacity Default number of events buffered per subscriber
+     * @param policy Default overflow policy for subscribers
+     */
+    public MovementEventPublisher(Executor executor, int bufferCapacity, OverflowPolicy policy) {
+        this.executor = Objects.requireNonNull(executor);
+        this.defaultCapacity = bufferCapacity;
+        this.defaultPolicy = Objects.requireNonNull(policy);
+        log.info("Movement event publisher created with buffer capacity {} and policy {}", bufferCapacity, policy);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super RobotEvent> subscriber) {
+        subscribe(subscriber, defaultCapacity, defaultPolicy);
+    }
+
+    /**
+     * Subscribes with a specific buffer capacity and overflow policy.
+     *
+     * @param subscriber The subscriber to register
+     * @param bufferCapacity Number of events buffered for this subscriber
+     * @param policy What to do when the buffer is full
+     */
+    public void subscribe(Flow.Subscriber<? super RobotEvent> subscriber, int bufferCapacity, OverflowPolicy policy) {
+        Objects.requireNonNull(subscriber);
+        EventSubscription subscription = new EventSubscription(subscriber, bufferCapacity, policy);
+        subscriptions.add(subscription);
+        log.debug("Subscriber added: {} (capacity {}, policy {})",
+                subscriber.getClass().getSimpleName(), bufferCapacity, policy);
+        subscriber.onSubscribe(subscription);
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    @Override
+    public void onMove(Robot robot, Position from, Position to) {
+        if (!subscriptions.isEmpty()) {
+            publish(new RobotEvent.Moved(robot.getId(), from, to, System.currentTimeMillis()));
+        }
+    }
+
+    @Override
+    public void onTurn(Robot robot, Direction from, Direction to) {
+        if (!subscriptions.isEmpty()) {
+            publish(new RobotEvent.Turned(robot.getId(), from, to, System.currentTimeMillis()));
+        }
+    }
+
+    @Override
+    public void onCollision(Robot robot, Position target) {
+        if (!subscriptions.isEmpty()) {
+            publish(new RobotEvent.Collided(robot.getId(), target, System.currentTimeMillis()));
+        }
+    }
+
+    @Override
+    public void onOutOfBounds(Robot robot, int x, int y) {
+        if (!subscriptions.isEmpty()) {
+            publish(new RobotEvent.OutOfBounds(robot.getId(), x, y, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Offers an event to every subscriber without blocking.
+     *
+     * @param event The event to publish
+     */
+    public void publish(RobotEvent event) {
+        if (closed) {
+            return;
+        }
+        for (EventSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Returns the number of events discarded or replaced because subscribers fell behind.
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Returns the number of active subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops publishing and completes all subscribers once their buffered events are delivered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (EventSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+        log.info("Movement event publisher closed");
+    }
+
+    /**
+     * Per-subscriber buffer and demand tracking.
+     * The work-in-progress counter guarantees a single drain task runs at a time.
+     */
+    private final class EventSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super RobotEvent> subscriber;
+        private final EventRingBuffer<RobotEvent> buffer;
+        private final OverflowPolicy policy;
+        // Latest overflowing event per robot, only used by CONFLATE
+        private final Map<String, RobotEvent> conflated = new ConcurrentHashMap<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean completing;
+        // Set by an invalid request and signalled by the drain task, never by the requesting thread
+        private volatile Throwable error;
+
+        EventSubscription(Flow.Subscriber<? super RobotEvent> subscriber, int capacity, OverflowPolicy policy) {
+            this.subscriber = subscriber;
+            this.buffer = new EventRingBuffer<>(capacity);
+            this.policy = Objects.requireNonNull(policy);
+        }
+
+        void offer(RobotEvent event) {
+            if (cancelled) {
+                return;
+            }
+            boolean accepted = switch (policy) {
+                case DROP_NEWEST -> buffer.offer(event);
+                case DROP_OLDEST -> offerDroppingOldest(event);
+                case CONFLATE -> offerConflating(event);
+            };
+            if (!accepted) {
+                droppedEvents.increment();
+            }
+            // Without demand there is nothing to deliver; request() schedules the drain later
+            if (demand.get() > 0) {
+                schedule();
+            }
+        }
+
+        private boolean offerDroppingOldest(RobotEvent event) {
+            boolean dropped = false;
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    dropped = true;
+                }
+            }
+            return !dropped;
+        }
+
+        private boolean offerConflating(RobotEvent event) {
+            // Once conflation has started, keep conflating so a robot's events stay in order
+            if (conflated.isEmpty() && buffer.offer(event)) {
+                return true;
+            }
+            return conflated.put(event.robotId(), event) == null;
+        }
+
+        void complete() {
+            completing = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested demand must be positive: " + n);
+                schedule();
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            log.debug("Subscription cancelled for {}", subscriber.getClass().getSimpleName());
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                long requested = demand.get();
+                long emitted = 0;
+                while (emitted != requested && !cancelled && error == null) {
+                    RobotEvent event = next();
+                    if (event == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(event);
+                    } catch (Throwable e) {
+                        log.warn("Subscriber {} failed, cancelling subscription", subscriber.getClass().getSimpleName(), e);
+                        cancel();
+                        return;
+                    }
+                    emitted++;
+                }
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+                Throwable failure = error;
+                if (failure != null && !cancelled) {
+                    cancel();
+                    subscriber.onError(failure);
+                    return;
+                }
+                if (!cancelled && completing && buffer.isEmpty() && conflated.isEmpty()) {
+                    cancelled = true;
+                    subscriptions.remove(this);
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private RobotEvent next() {
+            RobotEvent event = buffer.poll();
+            if (event != null || conflated.isEmpty()) {
+                return event;
+            }
+            Iterator<Map.Entry<String, RobotEvent>> entries = conflated.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, RobotEvent> entry = entries.next();
+                if (conflated.remove(entry.getKey(), entry.getValue())) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.robot.event;
+
+/**
+ * Determines what happens to events when a subscriber's buffer is full.
+ */
+public enum OverflowPolicy {
+    /** Discard the event that does not fit. */
+    DROP_NEWEST,
+    /** Discard the oldest buffered event to make room. */
+    DROP_OLDEST,
+    /** Keep only the most recent overflowing event per robot. */
+    CONFLATE
+}
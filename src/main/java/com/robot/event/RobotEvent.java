@@ -0,0 +1,45 @@
+package com.robot.event;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+
+/**
+ * Typed event describing something that happened to a robot during simulation.
+ * Published by {@link MovementEventPublisher}.
+ */
+public sealed interface RobotEvent {
+
+    /**
+     * Gets the ID of the robot the event refers to.
+     */
+    String robotId();
+
+    /**
+     * Gets the wall-clock time of the event in epoch milliseconds.
+     */
+    long timestamp();
+
+    /**
+     * A robot moved one cell forward.
+     */
+    record Moved(String robotId, Position from, Position to, long timestamp) implements RobotEvent {
+    }
+
+    /**
+     * A robot turned in place.
+     */
+    record Turned(String robotId, Direction from, Direction to, long timestamp) implements RobotEvent {
+    }
+
+    /**
+     * A robot's move was blocked by another robot occupying the target cell.
+     */
+    record Collided(String robotId, Position target, long timestamp) implements RobotEvent {
+    }
+
+    /**
+     * A robot's move was rejected because the target lies outside the room.
+     */
+    record OutOfBounds(String robotId, int x, int y, long timestamp) implements RobotEvent {
+    }
+}
@@ -0,0 +1,17 @@
+package com.robot.exception;
+
+/**
+ * Exception thrown when a robot attempts to move in a way the rules of a zone do not allow:
+ * into a forbidden zone, into a zone that is full, or into a zone from a disallowed direction.
+ */
+public class RobotZoneViolationException extends RuntimeException {
+
+    /**
+     * Constructs a new RobotZoneViolationException with the specified error message.
+     *
+     * @param message Detailed description of the violated rule including the zone and position
+     */
+    public RobotZoneViolationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,65 @@
+package com.robot.kernel;
+
+import com.robot.domain.Room;
+
+/**
+ * Advances a whole fleet by one tick, each robot executing one command.
+ * <p>
+ * A forward move that would leave the room is not applied and is flagged in the
+ * out-of-bounds mask instead. Robots are moved independently: collisions between robots
+ * are not checked here.
+ */
+public interface FleetStepKernel {
+
+    /** Command code for moving one cell forward. */
+    int FORWARD = 0;
+    /** Command code for turning 90 degrees to the left. */
+    int TURN_LEFT = 1;
+    /** Command code for turning 90 degrees to the right. */
+    int TURN_RIGHT = 2;
+    /** Command code for a robot that does nothing this tick; any other value behaves the same. */
+    int IDLE = 3;
+
+    /**
+     * Applies one command per robot in place.
+     *
+     * @param fleet The fleet to advance
+     * @param commands Command code for each robot, at least {@code fleet.size()} entries
+     * @param room The room bounding the moves
+     * @param outOfBounds Receives, for each robot, whether its forward move was refused
+     */
+    void step(PackedFleet fleet, int[] commands, Room room, boolean[] outOfBounds);
+
+    /**
+     * Translates an L/R/F command character to a command code.
+     *
+     * @param command The command character
+     * @return The command code
+     * @throws IllegalArgumentException if the command is unknown
+     */
+    static int encode(char command) {
+        return switch (command) {
+            case 'F' -> FORWARD;
+            case 'L' -> TURN_LEFT;
+            case 'R' -> TURN_RIGHT;
+            default -> throw new IllegalArgumentException("Invalid command: " + command);
+        };
+    }
+
+    /**
+     * Returns the vectorized kernel when the {@code jdk.incubator.vector} module is available
+     * (run with {@code --add-modules jdk.incubator.vector}), otherwise the scalar kernel.
+     * The vector kernel is loaded by name, so the rest of the code compiles without the module.
+     */
+    static FleetStepKernel create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (FleetStepKernel) Class.forName("com.robot.kernel.VectorFleetStepKernel")
+                        .getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Vector fleet-step kernel is not on the class path", e);
+            }
+        }
+        return new ScalarFleetStepKernel();
+    }
+}
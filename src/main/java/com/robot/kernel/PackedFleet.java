@@ -0,0 +1,139 @@
+package com.robot.kernel;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.repository.RobotRepository;
+
+import java.util.List;
+
+/**
+ * Structure-of-arrays copy of a fleet's poses for batch processing by a {@link FleetStepKernel}.
+ * Directions are stored as {@link Direction} ordinals.
+ */
+public final class PackedFleet {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int[] x;
+    private final int[] y;
+    private final int[] direction;
+
+    /**
+     * Creates a fleet of the given size with every robot at (0, 0) facing north.
+     *
+     * @param size Number of robots
+     */
+    public PackedFleet(int size) {
+        this.x = new int[size];
+        this.y = new int[size];
+        this.direction = new int[size];
+    }
+
+    /**
+     * Packs the poses of the given robots, keeping their order.
+     *
+     * @param robots The robots to pack
+     * @return The packed fleet
+     */
+    public static PackedFleet of(List<Robot> robots) {
+        PackedFleet fleet = new PackedFleet(robots.size());
+        for (int i = 0; i < robots.size(); i++) {
+            Robot robot = robots.get(i);
+            fleet.set(i, robot.getPosition().x(), robot.getPosition().y(), robot.getDirection());
+        }
+        return fleet;
+    }
+
+    /**
+     * Writes the packed poses back to the robots they were packed from.
+     * Positions are set on the robots only: robots stored in a {@link RobotRepository} created for
+     * a room must be unpacked with {@link #unpackInto(List, RobotRepository)}, or the
+     * repository's occupancy index and zone counts go stale.
+     *
+     * @param robots The robots, in the order used by {@link #of(List)}
+     */
+    public void unpackInto(List<Robot> robots) {
+        for (int i = 0; i < robots.size(); i++) {
+            Robot robot = robots.get(i);
+            if (robot.getPosition().x() != x[i] || robot.getPosition().y() != y[i]) {
+                robot.setPosition(new Position(x[i], y[i]));
+            }
+            robot.setDirection(DIRECTIONS[direction[i]]);
+        }
+    }
+
+    /**
+     * Writes the packed poses back to the robots they were packed from and re-saves every robot
+     * that changed cell, keeping the repository's occupancy index and zone counts up to date.
+     *
+     * @param robots The robots, in the order used by {@link #of(List)}
+     * @param repository The repository storing the robots
+     * @throws IllegalArgumentException if a robot would enter a zone that is already full; that
+     *                                  robot keeps its previous position, robots before it are written
+     */
+    public void unpackInto(List<Robot> robots, RobotRepository repository) {
+        for (int i = 0; i < robots.size(); i++) {
+            Robot robot = robots.get(i);
+            Position previous = robot.getPosition();
+            if (previous.x() != x[i] || previous.y() != y[i]) {
+                robot.setPosition(new Position(x[i], y[i]));
+                try {
+                    repository.save(robot);
+                } catch (IllegalArgumentException e) {
+                    robot.setPosition(previous);
+                    throw e;
+                }
+            }
+            robot.setDirection(DIRECTIONS[direction[i]]);
+        }
+    }
+
+    /**
+     * Sets the pose of one robot.
+     */
+    public void set(int index, int x, int y, Direction direction) {
+        this.x[index] = x;
+        this.y[index] = y;
+        this.direction[index] = direction.ordinal();
+    }
+
+    /**
+     * Returns the number of robots.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Returns the x-coordinate of one robot.
+     */
+    public int x(int index) {
+        return x[index];
+    }
+
+    /**
+     * Returns the y-coordinate of one robot.
+     */
+    public int y(int index) {
+        return y[index];
+    }
+
+    /**
+     * Returns the direction of one robot.
+     */
+    public Direction direction(int index) {
+        return DIRECTIONS[direction[index]];
+    }
+
+    int[] xs() {
+        return x;
+    }
+
+    int[] ys() {
+        return y;
+    }
+
+    int[] directions() {
+        return direction;
+    }
+}
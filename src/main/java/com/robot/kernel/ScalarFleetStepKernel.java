@@ -0,0 +1,44 @@
+package com.robot.kernel;
+
+import com.robot.domain.Room;
+
+/**
+ * Portable fleet-step kernel processing one robot at a time.
+ * Uses the same branch-free arithmetic as {@link VectorFleetStepKernel}, so both produce
+ * identical results.
+ */
+public final class ScalarFleetStepKernel implements FleetStepKernel {
+
+    @Override
+    public void step(PackedFleet fleet, int[] commands, Room room, boolean[] outOfBounds) {
+        stepRange(fleet, commands, room.width(), room.height(), outOfBounds, 0, fleet.size());
+    }
+
+    /**
+     * Advances the robots in [from, to). Also used for the tail the vector kernel cannot fill.
+     */
+    static void stepRange(PackedFleet fleet, int[] commands, int width, int height,
+                          boolean[] outOfBounds, int from, int to) {
+        int[] xs = fleet.xs();
+        int[] ys = fleet.ys();
+        int[] directions = fleet.directions();
+        for (int i = from; i < to; i++) {
+            int direction = directions[i];
+            int command = commands[i];
+            // NORTH, EAST, SOUTH, WEST: dx is 0, 1, 0, -1 and dy is 1, 0, -1, 0
+            int odd = direction & 1;
+            int nx = xs[i] + odd * (2 - direction);
+            int ny = ys[i] + (1 - odd) * (1 - direction);
+            // Unsigned comparison rejects negative coordinates as well
+            boolean inside = Integer.compareUnsigned(nx, width) < 0 && Integer.compareUnsigned(ny, height) < 0;
+            boolean forward = command == FORWARD;
+            if (forward && inside) {
+                xs[i] = nx;
+                ys[i] = ny;
+            }
+            outOfBounds[i] = forward && !inside;
+            int turn = command == TURN_LEFT ? 3 : command == TURN_RIGHT ? 1 : 0;
+            directions[i] = (direction + turn) & 3;
+        }
+    }
+}
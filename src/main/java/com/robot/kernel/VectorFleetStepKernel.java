@@ -0,0 +1,60 @@
+package com.robot.kernel;
+
+import com.robot.domain.Room;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fleet-step kernel using the incubating Vector API, processing as many robots per
+ * instruction as the CPU's preferred vector width allows. Requires the
+ * {@code jdk.incubator.vector} module; use {@link FleetStepKernel#create()} to fall back to
+ * {@link ScalarFleetStepKernel} when it is missing.
+ */
+public final class VectorFleetStepKernel implements FleetStepKernel {
+    private static final Logger log = LoggerFactory.getLogger(VectorFleetStepKernel.class);
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    public VectorFleetStepKernel() {
+        log.debug("Vector fleet-step kernel using {} lanes", SPECIES.length());
+    }
+
+    @Override
+    public void step(PackedFleet fleet, int[] commands, Room room, boolean[] outOfBounds) {
+        int[] xs = fleet.xs();
+        int[] ys = fleet.ys();
+        int[] directions = fleet.directions();
+        int width = room.width();
+        int height = room.height();
+        int upper = SPECIES.loopBound(fleet.size());
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector x = IntVector.fromArray(SPECIES, xs, i);
+            IntVector y = IntVector.fromArray(SPECIES, ys, i);
+            IntVector direction = IntVector.fromArray(SPECIES, directions, i);
+            IntVector command = IntVector.fromArray(SPECIES, commands, i);
+
+            // Same arithmetic as the scalar kernel: dx = odd * (2 - d), dy = (1 - odd) * (1 - d)
+            IntVector odd = direction.and(1);
+            IntVector nx = x.add(odd.mul(direction.neg().add(2)));
+            IntVector ny = y.add(odd.neg().add(1).mul(direction.neg().add(1)));
+            VectorMask<Integer> inside = nx.compare(VectorOperators.UNSIGNED_LT, width)
+                    .and(ny.compare(VectorOperators.UNSIGNED_LT, height));
+            VectorMask<Integer> forward = command.compare(VectorOperators.EQ, FORWARD);
+            VectorMask<Integer> move = forward.and(inside);
+            x.blend(nx, move).intoArray(xs, i);
+            y.blend(ny, move).intoArray(ys, i);
+            forward.andNot(inside).intoArray(outOfBounds, i);
+
+            IntVector turn = IntVector.zero(SPECIES)
+                    .blend(3, command.compare(VectorOperators.EQ, TURN_LEFT))
+                    .blend(1, command.compare(VectorOperators.EQ, TURN_RIGHT));
+            direction.add(turn).and(3).intoArray(directions, i);
+        }
+        ScalarFleetStepKernel.stepRange(fleet, commands, width, height, outOfBounds, i, fleet.size());
+    }
+}
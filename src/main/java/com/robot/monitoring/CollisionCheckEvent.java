@@ -0,0 +1,39 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * A lookup of whether the target cell of a move is occupied.
+ */
+@Name("com.robot.CollisionCheck")
+@Label("Collision Check")
+@Description("Occupancy lookup for the target cell of a move")
+@Enabled(false)
+@Setter
+public class CollisionCheckEvent extends SampledEvent {
+    private static final EventType TYPE = EventType.getEventType(CollisionCheckEvent.class);
+
+    /**
+     * Begins a collision check event, or returns null without creating one if the event is not recorded.
+     */
+    public static CollisionCheckEvent start() {
+        return EventFactory.start(TYPE, CollisionCheckEvent::new);
+    }
+
+    @Label("Robot")
+    private String robotId;
+
+    @Label("X")
+    private int x;
+
+    @Label("Y")
+    private int y;
+
+    @Label("Occupied")
+    private boolean occupied;
+}
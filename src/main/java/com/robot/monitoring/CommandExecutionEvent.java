@@ -0,0 +1,57 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * Execution of a whole program by one robot, as seen by {@code SimulationService.execute}.
+ * Only executions slower than the threshold are recorded.
+ */
+@Name("com.robot.CommandExecution")
+@Label("Command Execution")
+@Description("A robot executing a command sequence")
+@Category("Robot Simulation")
+@StackTrace(false)
+@Threshold("1 ms")
+@Setter
+public class CommandExecutionEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(CommandExecutionEvent.class);
+
+    /**
+     * Begins a command execution event, or returns null without creating one if the event is not recorded.
+     */
+    public static CommandExecutionEvent start() {
+        return EventFactory.start(TYPE, CommandExecutionEvent::new);
+    }
+
+    @Label("Robot")
+    private String robotId;
+
+    @Label("Program")
+    private String program;
+
+    @Label("Command Count")
+    private int commandCount;
+
+    @Label("Executed Count")
+    @Description("Commands that were applied successfully")
+    private int executedCount;
+
+    @Label("Outcome")
+    @Description("NONE on success, otherwise the first failure code")
+    private String outcome;
+
+    @Label("Failure Policy")
+    private String policy;
+
+    @Label("Cached")
+    @Description("Whether the outcome was replayed from the program outcome cache")
+    private boolean cached;
+}
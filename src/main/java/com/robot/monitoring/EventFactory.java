@@ -0,0 +1,32 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates simulation events only while a recording has their type enabled, so that with
+ * recording off the hot paths check a flag instead of allocating an event per call.
+ */
+final class EventFactory {
+
+    private EventFactory() {
+    }
+
+    /**
+     * Creates and begins an event of the given type.
+     *
+     * @param type The event's type, looked up once per event class
+     * @param constructor Creates the event
+     * @return The begun event, or null if no recording enables the type
+     */
+    static <T extends Event> T start(EventType type, Supplier<T> constructor) {
+        if (!type.isEnabled()) {
+            return null;
+        }
+        T event = constructor.get();
+        event.begin();
+        return event;
+    }
+}
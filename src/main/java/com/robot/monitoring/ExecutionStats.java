@@ -0,0 +1,25 @@
+package com.robot.monitoring;
+
+import java.time.Duration;
+
+/**
+ * Aggregated {@link CommandExecutionEvent} durations for one robot or one program.
+ *
+ * @param key Robot ID or program
+ * @param count Number of recorded executions
+ * @param total Sum of the execution durations
+ * @param max Longest execution
+ */
+public record ExecutionStats(String key, long count, Duration total, Duration max) {
+
+    /**
+     * Returns the mean execution duration.
+     */
+    public Duration mean() {
+        return count == 0 ? Duration.ZERO : total.dividedBy(count);
+    }
+
+    ExecutionStats add(Duration duration) {
+        return new ExecutionStats(key, count + 1, total.plus(duration), max.compareTo(duration) >= 0 ? max : duration);
+    }
+}
@@ -0,0 +1,15 @@
+package com.robot.monitoring;
+
+import java.util.List;
+
+/**
+ * Fleet state read from the shared world state file.
+ *
+ * @param roomWidth Width of the simulated room
+ * @param roomHeight Height of the simulated room
+ * @param robots Pose of every registered robot
+ * @param consistent True if no robot changed while the snapshot was taken; otherwise each
+ *                   pose is individually consistent but poses may come from different moments
+ */
+public record FleetSnapshot(int roomWidth, int roomHeight, List<RobotState> robots, boolean consistent) {
+}
@@ -0,0 +1,133 @@
+package com.robot.monitoring;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarises a Flight Recorder file: where program execution time went per robot and per
+ * program, and how many simulation events of each type were recorded.
+ * Usage: {@code JfrRecordingAnalyzer <recording.jfr> [limit]}
+ */
+public final class JfrRecordingAnalyzer {
+    private static final String EVENT_PREFIX = "com.robot.";
+    private static final String COMMAND_EXECUTION = "com.robot.CommandExecution";
+    private static final int PROGRAM_DISPLAY_LENGTH = 40;
+
+    private final Map<String, ExecutionStats> byRobot = new HashMap<>();
+    private final Map<String, ExecutionStats> byProgram = new HashMap<>();
+    private final Map<String, Long> eventCounts = new TreeMap<>();
+
+    private JfrRecordingAnalyzer() {
+    }
+
+    /**
+     * Reads all simulation events of a recording.
+     *
+     * @param recording The recording file
+     * @return The analyzer holding the aggregated events
+     * @throws IOException if the file cannot be read or is not a recording
+     */
+    public static JfrRecordingAnalyzer read(Path recording) throws IOException {
+        JfrRecordingAnalyzer analyzer = new JfrRecordingAnalyzer();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                analyzer.accept(file.readEvent());
+            }
+        }
+        return analyzer;
+    }
+
+    /**
+     * Returns the robots that spent the most time executing programs, slowest first.
+     *
+     * @param limit Maximum number of robots
+     */
+    public List<ExecutionStats> slowestRobots(int limit) {
+        return slowest(byRobot, limit);
+    }
+
+    /**
+     * Returns the programs that took the most time in total, slowest first.
+     *
+     * @param limit Maximum number of programs
+     */
+    public List<ExecutionStats> slowestPrograms(int limit) {
+        return slowest(byProgram, limit);
+    }
+
+    /**
+     * Returns the number of recorded events per simulation event type.
+     */
+    public Map<String, Long> eventCounts() {
+        return eventCounts;
+    }
+
+    /**
+     * Prints the robot and program rankings and the event counts.
+     *
+     * @param out Where to print
+     * @param limit Maximum number of rows per ranking
+     */
+    public void printReport(PrintStream out, int limit) {
+        out.println("Events:");
+        eventCounts.forEach((type, count) -> out.printf("  %-40s %10d%n", type, count));
+        printRanking(out, "Slowest robots:", slowestRobots(limit));
+        printRanking(out, "Slowest programs:", slowestPrograms(limit));
+    }
+
+    private void accept(RecordedEvent event) {
+        String type = event.getEventType().getName();
+        if (!type.startsWith(EVENT_PREFIX)) {
+            return;
+        }
+        eventCounts.merge(type, 1L, Long::sum);
+        if (COMMAND_EXECUTION.equals(type)) {
+            Duration duration = event.getDuration();
+            String robotId = event.getString("robotId");
+            String program = event.getString("program");
+            byRobot.merge(robotId, new ExecutionStats(robotId, 1, duration, duration),
+                    (stats, ignored) -> stats.add(duration));
+            byProgram.merge(program, new ExecutionStats(program, 1, duration, duration),
+                    (stats, ignored) -> stats.add(duration));
+        }
+    }
+
+    private static List<ExecutionStats> slowest(Map<String, ExecutionStats> stats, int limit) {
+        return stats.values().stream()
+                .sorted(Comparator.comparing(ExecutionStats::total).reversed()
+                        .thenComparing(ExecutionStats::key))
+                .limit(limit)
+                .toList();
+    }
+
+    private static void printRanking(PrintStream out, String title, List<ExecutionStats> ranking) {
+        out.println(title);
+        out.printf("  %-" + PROGRAM_DISPLAY_LENGTH + "s %8s %12s %12s %12s%n", "key", "count", "total us", "mean us", "max us");
+        for (ExecutionStats stats : ranking) {
+            String key = stats.key().length() > PROGRAM_DISPLAY_LENGTH
+                    ? stats.key().substring(0, PROGRAM_DISPLAY_LENGTH - 3) + "..."
+                    : stats.key();
+            out.printf("  %-" + PROGRAM_DISPLAY_LENGTH + "s %8d %12d %12d %12d%n", key, stats.count(),
+                    stats.total().toNanos() / 1000, stats.mean().toNanos() / 1000, stats.max().toNanos() / 1000);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Usage: JfrRecordingAnalyzer <recording.jfr> [limit]");
+            return;
+        }
+        int limit = args.length == 2 ? Integer.parseInt(args[1]) : 10;
+        read(Path.of(args[0])).printReport(System.out, limit);
+    }
+}
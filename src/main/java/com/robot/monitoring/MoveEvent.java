@@ -0,0 +1,46 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * A single forward move attempt and its outcome.
+ */
+@Name("com.robot.Move")
+@Label("Move")
+@Description("A robot attempting to move one cell forward")
+@Enabled(false)
+@Setter
+public class MoveEvent extends SampledEvent {
+    private static final EventType TYPE = EventType.getEventType(MoveEvent.class);
+
+    /**
+     * Begins a move event, or returns null without creating one if the event is not recorded.
+     */
+    public static MoveEvent start() {
+        return EventFactory.start(TYPE, MoveEvent::new);
+    }
+
+    @Label("Robot")
+    private String robotId;
+
+    @Label("From X")
+    private int fromX;
+
+    @Label("From Y")
+    private int fromY;
+
+    @Label("To X")
+    private int toX;
+
+    @Label("To Y")
+    private int toY;
+
+    @Label("Outcome")
+    @Description("NONE if the robot moved, otherwise the failure code")
+    private String outcome;
+}
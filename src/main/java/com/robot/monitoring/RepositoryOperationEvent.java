@@ -0,0 +1,39 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * A write to the robot repository and its occupancy index.
+ */
+@Name("com.robot.RepositoryOperation")
+@Label("Repository Operation")
+@Description("Save, delete or relocation of a robot in the repository")
+@Enabled(false)
+@Threshold("10 us")
+@Setter
+public class RepositoryOperationEvent extends SampledEvent {
+    private static final EventType TYPE = EventType.getEventType(RepositoryOperationEvent.class);
+
+    /**
+     * Begins a repository operation event, or returns null without creating one if the event is not recorded.
+     */
+    public static RepositoryOperationEvent start() {
+        return EventFactory.start(TYPE, RepositoryOperationEvent::new);
+    }
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Robot")
+    private String robotId;
+
+    @Label("Indexed")
+    @Description("Whether the repository maintains an occupancy index")
+    private boolean indexed;
+}
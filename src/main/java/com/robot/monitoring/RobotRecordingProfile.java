@@ -0,0 +1,43 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+/**
+ * The bundled Flight Recorder profile, {@value #RESOURCE}, which enables the simulation events
+ * with thresholds and sample rates suitable for production.
+ */
+public final class RobotRecordingProfile {
+    static final String RESOURCE = "/robot-profile.jfc";
+
+    private RobotRecordingProfile() {
+    }
+
+    /**
+     * Loads the profile for use with {@code new Recording(configuration)}.
+     *
+     * @return The parsed profile
+     * @throws UncheckedIOException if the bundled profile is missing or malformed
+     */
+    public static Configuration load() {
+        try (InputStream in = RobotRecordingProfile.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing recording profile " + RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return Configuration.create(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new UncheckedIOException(new IOException("Malformed recording profile " + RESOURCE, e));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.robot.monitoring;
+
+import com.robot.domain.Direction;
+
+/**
+ * Pose of a single robot as read from the shared world state file.
+ *
+ * @param id Robot identifier
+ * @param x Current x-coordinate
+ * @param y Current y-coordinate
+ * @param direction Current facing direction
+ * @param sequence Slot sequence counter; increases by two with every update
+ */
+public record RobotState(String id, int x, int y, Direction direction, long sequence) {
+}
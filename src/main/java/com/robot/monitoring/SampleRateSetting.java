@@ -0,0 +1,75 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingControl;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Flight Recorder setting that keeps a random fraction of an event type's events.
+ * <p>
+ * Values are percentages such as {@code "1%"} or {@code "100%"}. When several recordings
+ * run at once, the highest rate wins so every recording gets at least the events it asked for.
+ */
+@Name("com.robot.SampleRate")
+@Label("Sample Rate")
+@Description("Percentage of events to record")
+public class SampleRateSetting extends SettingControl {
+    static final String DEFAULT_VALUE = "100%";
+
+    private volatile String value = DEFAULT_VALUE;
+    private volatile double rate = 1.0;
+
+    @Override
+    public String combine(Set<String> values) {
+        double highest = -1;
+        String combined = DEFAULT_VALUE;
+        for (String candidate : values) {
+            double candidateRate = parse(candidate);
+            if (candidateRate > highest) {
+                highest = candidateRate;
+                combined = candidate;
+            }
+        }
+        return combined;
+    }
+
+    @Override
+    public void setValue(String value) {
+        this.rate = parse(value);
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Decides whether the current event is kept.
+     */
+    boolean sample() {
+        double current = rate;
+        return current >= 1.0 || (current > 0 && ThreadLocalRandom.current().nextDouble() < current);
+    }
+
+    /**
+     * Parses a percentage; malformed values keep every event rather than silently dropping them.
+     */
+    private static double parse(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        if (trimmed.endsWith("%")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        try {
+            double percent = Double.parseDouble(trimmed);
+            return Math.max(0, Math.min(100, percent)) / 100;
+        } catch (NumberFormatException e) {
+            return 1.0;
+        }
+    }
+}
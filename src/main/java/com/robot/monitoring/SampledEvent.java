@@ -0,0 +1,25 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of the per-step simulation events, which fire for every command and are
+ * therefore disabled by default and recorded at a configurable {@link SampleRateSetting rate}.
+ * Stack traces are off, since every event comes from the same few call sites.
+ */
+@Category("Robot Simulation")
+@StackTrace(false)
+abstract class SampledEvent extends Event {
+
+    @Name("sampleRate")
+    @Label("Sample Rate")
+    @SettingDefinition
+    protected boolean sampleRate(SampleRateSetting setting) {
+        return setting.sample();
+    }
+}
@@ -0,0 +1,57 @@
+package com.robot.monitoring;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout of the memory-mapped world state file shared between the simulator and
+ * observer processes.
+ * <p>
+ * The file starts with a 64-byte header followed by one 64-byte slot per robot:
+ * <pre>
+ * header: magic(int) version(int) capacity(int) registered(int) roomWidth(int) roomHeight(int)
+ * slot:   sequence(long) x(int) y(int) direction(int) idLength(int) id(40 bytes UTF-8)
+ * </pre>
+ * Each slot is guarded by its own sequence counter (seqlock): odd while the writer is
+ * updating the slot, even when it is stable, and zero while the slot is unused. A robot that
+ * was removed keeps its slot with {@link #REMOVED} as its direction.
+ */
+final class SharedWorldLayout {
+    static final int MAGIC = 0x52425753; // "RBWS"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int CAPACITY_OFFSET = 8;
+    static final int REGISTERED_OFFSET = 12;
+    static final int WIDTH_OFFSET = 16;
+    static final int HEIGHT_OFFSET = 20;
+
+    // One cache line per robot so writers of different robots never share a line
+    static final int SLOT_SIZE = 64;
+    static final int SEQUENCE_OFFSET = 0;
+    static final int X_OFFSET = 8;
+    static final int Y_OFFSET = 12;
+    static final int DIRECTION_OFFSET = 16;
+    static final int ID_LENGTH_OFFSET = 20;
+    static final int ID_OFFSET = 24;
+    static final int MAX_ID_BYTES = SLOT_SIZE - ID_OFFSET;
+    static final int REMOVED = -1;
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ORDER);
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ORDER);
+
+    private SharedWorldLayout() {
+    }
+
+    static long fileSize(int capacity) {
+        return HEADER_SIZE + (long) capacity * SLOT_SIZE;
+    }
+
+    static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+}
@@ -0,0 +1,221 @@
+package com.robot.monitoring;
+
+import com.robot.domain.Direction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.robot.monitoring.SharedWorldLayout.*;
+
+/**
+ * Read-only view of a shared world state file written by {@link SharedWorldStateWriter}.
+ * Intended for observer processes: reads go straight to the mapped pages without any
+ * locking or communication with the simulator.
+ */
+public class SharedWorldStateReader implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SharedWorldStateReader.class);
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Number of attempts at a fleet-wide consistent snapshot before settling for per-robot consistency
+    private static final int SNAPSHOT_ATTEMPTS = 8;
+    // A slot staying mid-update this long belongs to a writer that stalled or died while writing it
+    private static final long STUCK_SLOT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int SPINS_BEFORE_YIELD = 100;
+    private static final RobotState STUCK = new RobotState("", 0, 0, Direction.NORTH, -1);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int roomWidth;
+    private final int roomHeight;
+    // Robot IDs never change once a slot is registered, so they are decoded only once
+    private final String[] ids;
+
+    /**
+     * Maps an existing shared state file for reading.
+     *
+     * @param file The file written by a {@link SharedWorldStateWriter}
+     * @throws IOException if the file cannot be mapped or has an unknown format
+     */
+    public SharedWorldStateReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        buffer.order(ORDER);
+        if ((int) INT.getAcquire(buffer, MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+            channel.close();
+            throw new IOException("Not a shared world state file: " + file);
+        }
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        this.roomWidth = buffer.getInt(WIDTH_OFFSET);
+        this.roomHeight = buffer.getInt(HEIGHT_OFFSET);
+        this.ids = new String[capacity];
+        log.debug("Opened shared world state {} ({} slots, room {}x{})", file, capacity, roomWidth, roomHeight);
+    }
+
+    /**
+     * Returns the number of slots registered so far.
+     */
+    public int registeredCount() {
+        return Math.min(capacity, (int) INT.getAcquire(buffer, REGISTERED_OFFSET));
+    }
+
+    /**
+     * Reads a consistent pose for a single slot.
+     *
+     * @param slot Slot index, less than {@link #registeredCount()}
+     * @return The robot state, or null if the slot has not been written yet, its robot was
+     *         removed, or the slot stayed mid-update for 100 ms because its writer stalled or died
+     */
+    public RobotState readSlot(int slot) {
+        RobotState state = read(slot);
+        return isVisible(state) ? state : null;
+    }
+
+    /**
+     * Reads a slot, spinning while the writer updates it.
+     *
+     * @return The robot state, null for unwritten slots, a state without direction for removed
+     *         robots, or {@link #STUCK}
+     */
+    private RobotState read(int slot) {
+        int offset = slotOffset(slot);
+        long deadline = 0;
+        for (int spins = 0; ; spins++) {
+            long before = (long) LONG.getAcquire(buffer, offset + SEQUENCE_OFFSET);
+            if (before == 0) {
+                return null;
+            }
+            if ((before & 1) == 0) {
+                int x = buffer.getInt(offset + X_OFFSET);
+                int y = buffer.getInt(offset + Y_OFFSET);
+                int direction = buffer.getInt(offset + DIRECTION_OFFSET);
+                VarHandle.loadLoadFence();
+                long after = (long) LONG.getOpaque(buffer, offset + SEQUENCE_OFFSET);
+                if (before == after) {
+                    // Removed robots keep their sequence so that snapshots can still check it
+                    Direction facing = direction == REMOVED ? null : DIRECTIONS[direction];
+                    return new RobotState(id(slot), x, y, facing, before);
+                }
+            }
+            // Only start the clock once the slot is found busy, keeping the common path free of it
+            long now = System.nanoTime();
+            if (deadline == 0) {
+                deadline = now + STUCK_SLOT_NANOS;
+            } else if (now - deadline > 0) {
+                log.warn("Shared state slot {} stayed mid-update for {} ms; reporting it as inconsistent", slot,
+                        TimeUnit.NANOSECONDS.toMillis(STUCK_SLOT_NANOS));
+                return STUCK;
+            }
+            if (spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                // Let a writer that was preempted mid-update run, in case it shares our core
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Reads the pose of every registered robot.
+     * Retries a few times to obtain a snapshot in which no robot moved while reading; if the
+     * fleet is too busy, the last attempt is returned with {@code consistent} set to false.
+     * Slots left mid-update by a writer that stalled or died are left out, and the snapshot is
+     * reported as inconsistent.
+     *
+     * @return The fleet snapshot
+     */
+    public FleetSnapshot snapshot() {
+        List<RobotState> robots = List.of();
+        boolean consistent = false;
+        boolean stuck = false;
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS && !consistent && !stuck; attempt++) {
+            robots = readAll();
+            stuck = robots.contains(STUCK);
+            consistent = !stuck && unchanged(robots);
+        }
+        robots.removeIf(state -> !isVisible(state));
+        return new FleetSnapshot(roomWidth, roomHeight, robots, consistent);
+    }
+
+    private List<RobotState> readAll() {
+        int count = registeredCount();
+        List<RobotState> robots = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            robots.add(read(slot));
+        }
+        return robots;
+    }
+
+    private boolean unchanged(List<RobotState> robots) {
+        if (registeredCount() != robots.size()) {
+            return false;
+        }
+        for (int slot = 0; slot < robots.size(); slot++) {
+            RobotState state = robots.get(slot);
+            long expected = state == null ? 0 : state.sequence();
+            if ((long) LONG.getAcquire(buffer, slotOffset(slot) + SEQUENCE_OFFSET) != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a slot read holds the pose of a present robot.
+     */
+    private static boolean isVisible(RobotState state) {
+        return state != null && state != STUCK && state.direction() != null;
+    }
+
+    private String id(int slot) {
+        String id = ids[slot];
+        if (id == null) {
+            int offset = slotOffset(slot);
+            byte[] bytes = new byte[buffer.getInt(offset + ID_LENGTH_OFFSET)];
+            buffer.get(offset + ID_OFFSET, bytes);
+            id = new String(bytes, StandardCharsets.UTF_8);
+            ids[slot] = id;
+        }
+        return id;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Prints the fleet state of a running simulator.
+     * Usage: {@code SharedWorldStateReader <file> [refresh-millis]}
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Usage: SharedWorldStateReader <file> [refresh-millis]");
+            return;
+        }
+        long refreshMillis = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        try (SharedWorldStateReader reader = new SharedWorldStateReader(Path.of(args[0]))) {
+            do {
+                FleetSnapshot snapshot = reader.snapshot();
+                System.out.println("Room " + snapshot.roomWidth() + "x" + snapshot.roomHeight()
+                        + ", " + snapshot.robots().size() + " robots"
+                        + (snapshot.consistent() ? "" : " (fleet moving, poses individually consistent)"));
+                for (RobotState robot : snapshot.robots()) {
+                    System.out.println(robot.id() + " at (" + robot.x() + ", " + robot.y() + ") facing "
+                            + robot.direction().getSymbol());
+                }
+                Thread.sleep(refreshMillis);
+            } while (refreshMillis > 0);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.robot.monitoring;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.repository.RobotRepository;
+import com.robot.service.SimulationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.robot.monitoring.SharedWorldLayout.*;
+
+/**
+ * Publishes the live pose of every robot into a memory-mapped file that observer processes
+ * can read with {@link SharedWorldStateReader}.
+ * <p>
+ * Each robot owns a fixed slot protected by a seqlock, so an update is a handful of plain
+ * stores between two sequence writes and never blocks on readers. Writers claim a slot by
+ * moving its sequence from even to odd with a compare-and-set, so listener callbacks,
+ * {@link #publishAll(RobotRepository)} and {@link #remove(String)} may update the same robot
+ * from different threads; the last write to complete wins. Robots are assigned slots on
+ * first publication and keep them for the lifetime of the file; a removed robot's slot is
+ * marked as removed but not reused.
+ * <p>
+ * Publishing never fails the simulation: once every slot is taken, or for IDs too long for
+ * a slot, updates are dropped, logged once and counted in {@link #droppedCount()}.
+ */
+public class SharedWorldStateWriter implements SimulationListener, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SharedWorldStateWriter.class);
+
+    private static final int SPINS_BEFORE_YIELD = 100;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Creates or truncates the shared state file and maps it into memory.
+     *
+     * @param file The file to publish into, typically on a tmpfs such as /dev/shm
+     * @param room The simulated room, recorded in the header for observers
+     * @param capacity Maximum number of robots that can be published
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public SharedWorldStateWriter(Path file, Room room, int capacity) throws IOException {
+        if (capacity <= 0 || fileSize(capacity) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid shared state capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+        buffer.order(ORDER);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putInt(WIDTH_OFFSET, room.width());
+        buffer.putInt(HEIGHT_OFFSET, room.height());
+        INT.setRelease(buffer, REGISTERED_OFFSET, 0);
+        // Observers treat the file as valid only once the magic number is visible
+        INT.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+        log.info("Shared world state published to {} for up to {} robots", file, capacity);
+    }
+
+    @Override
+    public void onMove(Robot robot, Position from, Position to) {
+        publish(robot.getId(), to.x(), to.y(), robot.getDirection().ordinal());
+    }
+
+    @Override
+    public void onTurn(Robot robot, Direction from, Direction to) {
+        publish(robot.getId(), robot.getPosition().x(), robot.getPosition().y(), to.ordinal());
+    }
+
+    /**
+     * Publishes the current pose of a robot.
+     *
+     * @param robot The robot to publish
+     * @return true if published, false if the robot has no slot and none could be assigned
+     */
+    public boolean publish(Robot robot) {
+        return publish(robot.getId(), robot.getPosition().x(), robot.getPosition().y(), robot.getDirection().ordinal());
+    }
+
+    /**
+     * Publishes the current pose of every robot in the repository and marks robots that are no
+     * longer in it as removed.
+     *
+     * @param repository The repository holding the fleet
+     */
+    public void publishAll(RobotRepository repository) {
+        Map<String, Robot> robots = repository.findAll();
+        robots.values().forEach(this::publish);
+        for (String id : slots.keySet()) {
+            if (!robots.containsKey(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    /**
+     * Marks a robot as removed, for example after deleting it from the repository, so that
+     * observers no longer see it. Publishing it again makes it visible again.
+     *
+     * @param robotId The ID of the removed robot
+     */
+    public void remove(String robotId) {
+        Integer slot = slots.get(robotId);
+        if (slot != null) {
+            write(slot, 0, 0, REMOVED);
+        }
+    }
+
+    /**
+     * Returns the number of updates dropped because a robot could not be assigned a slot.
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private boolean publish(String id, int x, int y, int direction) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            // No mapping is stored when registration fails, so the robot is retried next time
+            slot = slots.computeIfAbsent(id, this::register);
+            if (slot == null) {
+                dropped.increment();
+                return false;
+            }
+        }
+        write(slot, x, y, direction);
+        return true;
+    }
+
+    private void write(int slot, int x, int y, int direction) {
+        int offset = slotOffset(slot);
+        long sequence = lock(offset);
+        buffer.putInt(offset + X_OFFSET, x);
+        buffer.putInt(offset + Y_OFFSET, y);
+        buffer.putInt(offset + DIRECTION_OFFSET, direction);
+        LONG.setRelease(buffer, offset + SEQUENCE_OFFSET, sequence + 2);
+    }
+
+    /**
+     * Waits until no other thread is writing the slot and marks it as being written.
+     *
+     * @return The even sequence the slot had before
+     */
+    private long lock(int offset) {
+        int spins = 0;
+        while (true) {
+            long sequence = (long) LONG.getVolatile(buffer, offset + SEQUENCE_OFFSET);
+            // The volatile compare-and-set also keeps the field stores after it
+            if ((sequence & 1) == 0 && LONG.compareAndSet(buffer, offset + SEQUENCE_OFFSET, sequence, sequence + 1)) {
+                return sequence;
+            }
+            if (++spins < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                // The other writer may have been descheduled mid-update
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Assigns the next free slot to a robot.
+     *
+     * @return The slot, or null if the ID does not fit or every slot is taken
+     */
+    private Integer register(String id) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > MAX_ID_BYTES) {
+            log.warn("Robot ID too long for shared state, not publishing: {}", id);
+            return null;
+        }
+        int slot = nextSlot.getAndUpdate(next -> Math.min(next + 1, capacity));
+        if (slot >= capacity) {
+            if (overflowLogged.compareAndSet(false, true)) {
+                log.warn("Shared world state is full ({} robots); further robots are not published", capacity);
+            }
+            return null;
+        }
+        // The sequence stays zero until the first pose is written, so readers skip the slot until then
+        int offset = slotOffset(slot);
+        buffer.putInt(offset + ID_LENGTH_OFFSET, idBytes.length);
+        buffer.put(offset + ID_OFFSET, idBytes);
+        INT.getAndAdd(buffer, REGISTERED_OFFSET, 1);
+        log.debug("Robot {} assigned shared state slot {}", id, slot);
+        return slot;
+    }
+
+    /**
+     * Flushes the mapping to disk and closes the file.
+     * The mapping itself stays valid until garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+        log.info("Shared world state writer closed");
+    }
+}
@@ -0,0 +1,36 @@
+package com.robot.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * A single left or right turn.
+ */
+@Name("com.robot.Turn")
+@Label("Turn")
+@Description("A robot turning 90 degrees")
+@Enabled(false)
+@Setter
+public class TurnEvent extends SampledEvent {
+    private static final EventType TYPE = EventType.getEventType(TurnEvent.class);
+
+    /**
+     * Begins a turn event, or returns null without creating one if the event is not recorded.
+     */
+    public static TurnEvent start() {
+        return EventFactory.start(TYPE, TurnEvent::new);
+    }
+
+    @Label("Robot")
+    private String robotId;
+
+    @Label("From")
+    private String from;
+
+    @Label("To")
+    private String to;
+}
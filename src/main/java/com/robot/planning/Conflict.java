@@ -0,0 +1,26 @@
+package com.robot.planning;
+
+/**
+ * A conflict found while checking robot programs against each other and the room.
+ *
+ * @param type Kind of conflict
+ * @param step Time step at which the conflict occurs (0 is the starting placement)
+ * @param robotId Robot involved in the conflict
+ * @param otherRobotId Second robot involved, or null for out-of-bounds conflicts
+ * @param x Cell x-coordinate; for swaps the cell entered by {@code robotId}
+ * @param y Cell y-coordinate; for swaps the cell entered by {@code robotId}
+ */
+public record Conflict(Type type, int step, String robotId, String otherRobotId, int x, int y) {
+
+    /**
+     * Kinds of conflicts reported by {@link ConflictChecker}.
+     */
+    public enum Type {
+        /** Two robots occupy the same cell at the same step. */
+        VERTEX,
+        /** Two robots exchange cells during the same step. */
+        SWAP,
+        /** A robot tries to move outside the room. */
+        OUT_OF_BOUNDS
+    }
+}
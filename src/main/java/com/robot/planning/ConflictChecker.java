@@ -0,0 +1,205 @@
+package com.robot.planning;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Checks a batch of robot programs for collisions before any of them is executed.
+ * <p>
+ * All robots are assumed to run concurrently, executing one command per time step.
+ * A robot that has finished its program, or that was stopped by a boundary, stays in
+ * its last cell for the remaining steps. Each step is expanded for all robots in
+ * parallel, and occupied cells and traversed edges are inserted into primitive hashes so
+ * that vertex conflicts (same cell, same step) and swap conflicts (two robots exchanging
+ * cells) are found without simulating the programs one after another.
+ * <p>
+ * Every robot in a cell or crossing an edge is chained behind the robot stored there before
+ * it, so every pair of robots sharing a cell or exchanging cells is reported, whatever the
+ * thread scheduling. A vertex conflict is reported at the step two robots come together;
+ * robots that then stay together, parked or moving as one, are reported again only after
+ * they separate and meet anew. Each pair is reported in input order.
+ */
+public class ConflictChecker {
+    private static final Logger log = LoggerFactory.getLogger(ConflictChecker.class);
+
+    private static final Comparator<Conflict> REPORT_ORDER = Comparator
+            .comparingInt(Conflict::step)
+            .thenComparing(Conflict::type)
+            .thenComparing(Conflict::robotId)
+            .thenComparing(Conflict::otherRobotId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Room room;
+
+    /**
+     * Creates a checker for programs running in the given room.
+     *
+     * @param room The room the robots move in
+     */
+    public ConflictChecker(Room room) {
+        this.room = room;
+    }
+
+    /**
+     * Checks all programs against each other and the room boundaries.
+     *
+     * @param programs The programs to check
+     * @return Every conflict found, ordered by step
+     */
+    public List<Conflict> check(List<RobotProgram> programs) {
+        Trajectories state = new Trajectories(programs);
+        Queue<Conflict> conflicts = new ConcurrentLinkedQueue<>();
+        SpaceTimeTable occupancy = new SpaceTimeTable(programs.size());
+        SpaceTimeTable edges = new SpaceTimeTable(programs.size());
+
+        int steps = 0;
+        for (RobotProgram program : programs) {
+            steps = Math.max(steps, program.commands().length());
+        }
+
+        IntStream.range(0, state.size).parallel().forEach(i -> state.place(i, occupancy, conflicts));
+        IntStream.range(0, state.size).parallel().forEach(i -> state.detect(i, 0, conflicts));
+        for (int step = 1; step <= steps; step++) {
+            int t = step;
+            occupancy.clear();
+            edges.clear();
+            // Conflicts are only checked once every robot has moved, since they compare robots' previous cells
+            IntStream.range(0, state.size).parallel().forEach(i -> state.advance(i, t, occupancy, edges, conflicts));
+            IntStream.range(0, state.size).parallel().forEach(i -> state.detect(i, t, conflicts));
+        }
+
+        List<Conflict> result = new ArrayList<>(conflicts);
+        result.sort(REPORT_ORDER);
+        log.info("Checked {} programs over {} steps: {} conflicts found", programs.size(), steps, result.size());
+        return result;
+    }
+
+    /**
+     * Structure-of-arrays state for all robots, advanced one step at a time.
+     */
+    private final class Trajectories {
+        private final int size;
+        private final RobotProgram[] programs;
+        private final int[] x;
+        private final int[] y;
+        private final int[] prevX;
+        private final int[] prevY;
+        // Direction ordinals; turning right is +1 and turning left is +3 modulo 4
+        private final int[] direction;
+        private final int[] movedAt;
+        // Next robot in the same cell, and across the same edge, this step; NO_VALUE ends the chain
+        private final int[] nextInCell;
+        private final int[] nextOnEdge;
+        // Robots that started outside the room or hit a boundary no longer execute commands
+        private final boolean[] halted;
+        private final boolean[] outside;
+
+        Trajectories(List<RobotProgram> list) {
+            this.size = list.size();
+            this.programs = list.toArray(new RobotProgram[0]);
+            this.x = new int[size];
+            this.y = new int[size];
+            this.prevX = new int[size];
+            this.prevY = new int[size];
+            this.direction = new int[size];
+            this.movedAt = new int[size];
+            this.nextInCell = new int[size];
+            this.nextOnEdge = new int[size];
+            this.halted = new boolean[size];
+            this.outside = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                x[i] = programs[i].start().x();
+                y[i] = programs[i].start().y();
+                direction[i] = programs[i].direction().ordinal();
+            }
+        }
+
+        void place(int i, SpaceTimeTable table, Queue<Conflict> conflicts) {
+            if (!inRoom(x[i], y[i])) {
+                outside[i] = true;
+                halted[i] = true;
+                conflicts.add(new Conflict(Conflict.Type.OUT_OF_BOUNDS, 0, programs[i].robotId(), null, x[i], y[i]));
+                return;
+            }
+            nextInCell[i] = table.exchange(SpaceTimeTable.cellKey(x[i], y[i]), i);
+            nextOnEdge[i] = SpaceTimeTable.NO_VALUE;
+        }
+
+        void advance(int i, int step, SpaceTimeTable table, SpaceTimeTable edges, Queue<Conflict> conflicts) {
+            if (outside[i]) {
+                return;
+            }
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            String commands = programs[i].commands();
+            if (!halted[i] && step <= commands.length()) {
+                switch (commands.charAt(step - 1)) {
+                    case 'L' -> direction[i] = (direction[i] + 3) & 3;
+                    case 'R' -> direction[i] = (direction[i] + 1) & 3;
+                    default -> move(i, step, conflicts);
+                }
+            }
+            nextInCell[i] = table.exchange(SpaceTimeTable.cellKey(x[i], y[i]), i);
+            nextOnEdge[i] = movedAt[i] == step ? edges.exchange(edgeKey(i), i) : SpaceTimeTable.NO_VALUE;
+        }
+
+        private void move(int i, int step, Queue<Conflict> conflicts) {
+            int nx = x[i] + DIRECTIONS[direction[i]].dx();
+            int ny = y[i] + DIRECTIONS[direction[i]].dy();
+            if (!inRoom(nx, ny)) {
+                halted[i] = true;
+                conflicts.add(new Conflict(Conflict.Type.OUT_OF_BOUNDS, step, programs[i].robotId(), null, nx, ny));
+                return;
+            }
+            x[i] = nx;
+            y[i] = ny;
+            movedAt[i] = step;
+        }
+
+        /**
+         * Reports the conflicts between this robot and every robot chained behind it, so that
+         * each pair is reported exactly once.
+         */
+        void detect(int i, int step, Queue<Conflict> conflicts) {
+            if (outside[i]) {
+                return;
+            }
+            for (int other = nextInCell[i]; other != SpaceTimeTable.NO_VALUE; other = nextInCell[other]) {
+                // Robots already sharing a cell last step were reported when they met
+                if (step == 0 || prevX[other] != prevX[i] || prevY[other] != prevY[i]) {
+                    conflicts.add(new Conflict(Conflict.Type.VERTEX, step,
+                            programs[Math.min(other, i)].robotId(), programs[Math.max(other, i)].robotId(), x[i], y[i]));
+                }
+            }
+            // Robots crossing our edge swapped with us if they came from the cell we entered
+            for (int other = nextOnEdge[i]; other != SpaceTimeTable.NO_VALUE; other = nextOnEdge[other]) {
+                if (prevX[other] == x[i] && prevY[other] == y[i]) {
+                    int first = Math.min(other, i);
+                    conflicts.add(new Conflict(Conflict.Type.SWAP, step,
+                            programs[first].robotId(), programs[Math.max(other, i)].robotId(), x[first], y[first]));
+                }
+            }
+        }
+
+        /**
+         * Returns the key of the edge a robot crossed with its last move.
+         */
+        private long edgeKey(int i) {
+            return SpaceTimeTable.edgeKey(Math.min(x[i], prevX[i]), Math.min(y[i], prevY[i]), x[i] == prevX[i]);
+        }
+
+        private boolean inRoom(int cx, int cy) {
+            return cx >= 0 && cx < room.width() && cy >= 0 && cy < room.height();
+        }
+    }
+}
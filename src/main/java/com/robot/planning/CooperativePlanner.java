@@ -0,0 +1,172 @@
+package com.robot.planning;
+
+import com.robot.domain.Position;
+import com.robot.domain.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns collision-free programs to a batch of robots using prioritized cooperative A*.
+ * <p>
+ * Robots are planned in input order against a shared space-time reservation table: each
+ * robot searches for a short route that avoids every cell reserved by the robots planned
+ * before it, then reserves its own route and parks at its goal. Robots not planned yet
+ * hold their start cell.
+ * <p>
+ * To use multiple cores, robots are taken in batches and searched in parallel against the
+ * table as it was at the start of the batch. The routes are then re-validated and committed
+ * in priority order; a robot whose route now conflicts with one committed earlier in the
+ * same batch is simply searched again in the next batch. Programs contain no wait command,
+ * so routes wait by turning in place.
+ */
+public class CooperativePlanner {
+    private static final Logger log = LoggerFactory.getLogger(CooperativePlanner.class);
+
+    private static final int DEFAULT_MAX_EXPANSIONS = 200_000;
+    private static final int BATCH_SIZE_PER_CORE = 4;
+
+    private final Room room;
+    private final int maxExpansionsPerAgent;
+
+    /**
+     * Creates a planner for the given room.
+     *
+     * @param room The room the robots move in
+     */
+    public CooperativePlanner(Room room) {
+        this(room, DEFAULT_MAX_EXPANSIONS);
+    }
+
+    /**
+     * Creates a planner with a custom search budget.
+     *
+     * @param room The room the robots move in
+     * @param maxExpansionsPerAgent Maximum number of search states expanded per robot and attempt
+     * @throws IllegalArgumentException if the room is too large or the budget is not positive
+     */
+    public CooperativePlanner(Room room, int maxExpansionsPerAgent) {
+        if (room.width() > SpaceTimeTable.MAX_COORDINATE || room.height() > SpaceTimeTable.MAX_COORDINATE) {
+            throw new IllegalArgumentException("Room too large for planning: " + room.width() + "x" + room.height());
+        }
+        if (maxExpansionsPerAgent <= 0) {
+            throw new IllegalArgumentException("Expansion budget must be positive");
+        }
+        this.room = room;
+        this.maxExpansionsPerAgent = maxExpansionsPerAgent;
+    }
+
+    /**
+     * Plans routes for all tasks. Earlier tasks have priority over later ones.
+     *
+     * @param tasks The robots to route, each with a distinct start cell
+     * @return Programs for every robot
+     * @throws IllegalArgumentException if a start or goal is outside the room or two robots share a start cell
+     */
+    public MultiAgentPlan plan(List<PlanningTask> tasks) {
+        PlanningTask[] agents = tasks.toArray(new PlanningTask[0]);
+        validate(agents);
+
+        long expectedReservations = 0;
+        for (PlanningTask task : agents) {
+            expectedReservations += distance(task.start(), task.goal()) + 4;
+        }
+        ReservationTable reservations = new ReservationTable(room, agents.length, expectedReservations);
+        for (int agent = 0; agent < agents.length; agent++) {
+            reservations.parkAtStart(agent, agents[agent].start().x(), agents[agent].start().y());
+        }
+
+        ThreadLocal<SpaceTimeSearch> searches = ThreadLocal.withInitial(
+                () -> new SpaceTimeSearch(room.width(), room.height(), maxExpansionsPerAgent));
+        Route[] routes = new Route[agents.length];
+        Deque<Integer> pending = new ArrayDeque<>(agents.length);
+        for (int agent = 0; agent < agents.length; agent++) {
+            pending.add(agent);
+        }
+        List<Integer> failed = run(agents, pending, reservations, searches, routes);
+
+        // Robots blocked by a start cell may succeed once its owner has been routed away
+        int previous = agents.length + 1;
+        while (!failed.isEmpty() && failed.size() < previous) {
+            log.debug("Retrying {} robots without a route", failed.size());
+            previous = failed.size();
+            failed = run(agents, new ArrayDeque<>(failed), reservations, searches, routes);
+        }
+
+        Map<String, String> programs = new LinkedHashMap<>();
+        List<String> unplanned = new ArrayList<>(failed.size());
+        for (int agent = 0; agent < agents.length; agent++) {
+            programs.put(agents[agent].robotId(), routes[agent] == null ? "" : routes[agent].program());
+        }
+        failed.stream().sorted().forEach(agent -> unplanned.add(agents[agent].robotId()));
+        log.info("Planned {} of {} robots in a {}x{} room", agents.length - unplanned.size(), agents.length,
+                room.width(), room.height());
+        return new MultiAgentPlan(programs, unplanned);
+    }
+
+    private List<Integer> run(PlanningTask[] agents, Deque<Integer> pending, ReservationTable reservations,
+                              ThreadLocal<SpaceTimeSearch> searches, Route[] routes) {
+        int batchSize = Runtime.getRuntime().availableProcessors() * BATCH_SIZE_PER_CORE;
+        List<Integer> failed = new ArrayList<>();
+        int[] batch = new int[batchSize];
+        Route[] found = new Route[batchSize];
+        while (!pending.isEmpty()) {
+            int size = 0;
+            while (size < batchSize && !pending.isEmpty()) {
+                batch[size++] = pending.poll();
+            }
+            int count = size;
+            IntStream.range(0, count).parallel().forEach(i ->
+                    found[i] = searches.get().search(batch[i], agents[batch[i]], reservations));
+
+            // Commit in priority order; conflicting robots go back to the front of the queue
+            List<Integer> retry = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int agent = batch[i];
+                if (found[i] == null) {
+                    failed.add(agent);
+                } else if (reservations.isValid(agent, found[i])) {
+                    reservations.commit(agent, found[i]);
+                    routes[agent] = found[i];
+                } else {
+                    retry.add(agent);
+                }
+                found[i] = null;
+            }
+            for (int i = retry.size() - 1; i >= 0; i--) {
+                pending.addFirst(retry.get(i));
+            }
+        }
+        return failed;
+    }
+
+    private void validate(PlanningTask[] agents) {
+        Set<Position> starts = new HashSet<>();
+        for (PlanningTask task : agents) {
+            if (!inRoom(task.start()) || !inRoom(task.goal())) {
+                throw new IllegalArgumentException("Task outside the room: " + task);
+            }
+            if (!starts.add(task.start())) {
+                throw new IllegalArgumentException("Two robots start at " + task.start());
+            }
+        }
+    }
+
+    private boolean inRoom(Position position) {
+        return position.x() >= 0 && position.x() < room.width()
+                && position.y() >= 0 && position.y() < room.height();
+    }
+
+    private static int distance(Position a, Position b) {
+        return Math.abs(a.x() - b.x()) + Math.abs(a.y() - b.y());
+    }
+}
@@ -0,0 +1,23 @@
+package com.robot.planning;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@link CooperativePlanner#plan(List)}.
+ * Executed in lock-step, one command per robot per time step, the programs never put two
+ * robots in the same cell or let two robots swap cells.
+ *
+ * @param programs L/R/F program for every robot, keyed by robot ID; unplanned robots get an
+ *                 empty program and stay where they are
+ * @param unplanned IDs of robots for which no collision-free route was found
+ */
+public record MultiAgentPlan(Map<String, String> programs, List<String> unplanned) {
+
+    /**
+     * Returns true if every robot was routed to its goal.
+     */
+    public boolean isComplete() {
+        return unplanned.isEmpty();
+    }
+}
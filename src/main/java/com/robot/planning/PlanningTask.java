@@ -0,0 +1,27 @@
+package com.robot.planning;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+
+/**
+ * A robot that must be routed from its start pose to a target cell.
+ *
+ * @param robotId Identifier of the robot
+ * @param start Starting position
+ * @param direction Starting direction
+ * @param goal Cell the robot must end up in
+ */
+public record PlanningTask(String robotId, Position start, Direction direction, Position goal) {
+
+    /**
+     * Creates a task starting from the robot's current pose.
+     *
+     * @param robot The robot to route
+     * @param goal Cell the robot must end up in
+     * @return The task
+     */
+    public static PlanningTask of(Robot robot, Position goal) {
+        return new PlanningTask(robot.getId(), robot.getPosition(), robot.getDirection(), goal);
+    }
+}
@@ -0,0 +1,158 @@
+package com.robot.planning;
+
+import com.robot.domain.Room;
+
+import java.util.Arrays;
+
+/**
+ * Space-time reservations shared by all agents of a {@link CooperativePlanner} run.
+ * <p>
+ * Cells occupied at a given time step are stored in a primitive (x, y, t) hash. Agents that
+ * have reached their goal, and agents that are not planned yet, are "parked": they hold
+ * their cell from a time step onwards, which is tracked per cell together with the last
+ * time step any agent passes through it.
+ * <p>
+ * Queries may run concurrently; commits must not overlap with queries or each other.
+ */
+final class ReservationTable {
+    private static final int NONE = -1;
+
+    private final int width;
+    private final int[] parkedOwner;
+    private final int[] parkedFrom;
+    private final int[] lastReserved;
+    private final Route[] committed;
+    private SpaceTimeTable table;
+    private long tableEntries;
+    private long reserved;
+
+    ReservationTable(Room room, int agents, long expectedReservations) {
+        this.width = room.width();
+        int cells = Math.multiplyExact(room.width(), room.height());
+        this.parkedOwner = new int[cells];
+        this.parkedFrom = new int[cells];
+        this.lastReserved = new int[cells];
+        this.committed = new Route[agents];
+        Arrays.fill(parkedOwner, NONE);
+        Arrays.fill(lastReserved, NONE);
+        allocate(expectedReservations);
+    }
+
+    /**
+     * Parks an agent that has not been planned yet at its start cell.
+     */
+    void parkAtStart(int agent, int x, int y) {
+        int cell = cell(x, y);
+        parkedOwner[cell] = agent;
+        parkedFrom[cell] = 0;
+    }
+
+    /**
+     * Returns true if another agent holds the cell at time t.
+     */
+    boolean isBlocked(int agent, int x, int y, int t) {
+        int cell = cell(x, y);
+        int parked = parkedOwner[cell];
+        if (parked != NONE && parked != agent && parkedFrom[cell] <= t) {
+            return true;
+        }
+        int owner = table.get(SpaceTimeTable.spaceTimeKey(x, y, t));
+        return owner != SpaceTimeTable.NO_VALUE && owner != agent;
+    }
+
+    /**
+     * Returns true if moving from (x, y) at time t to (nx, ny) at time t + 1 would swap
+     * cells with another agent.
+     */
+    boolean isSwap(int agent, int x, int y, int nx, int ny, int t) {
+        int owner = table.get(SpaceTimeTable.spaceTimeKey(nx, ny, t));
+        return owner != SpaceTimeTable.NO_VALUE && owner != agent
+                && table.get(SpaceTimeTable.spaceTimeKey(x, y, t + 1)) == owner;
+    }
+
+    /**
+     * Returns true if the agent can stay in the cell forever from time t onwards.
+     */
+    boolean canPark(int agent, int x, int y, int t) {
+        int cell = cell(x, y);
+        int parked = parkedOwner[cell];
+        return (parked == NONE || parked == agent) && lastReserved[cell] < t;
+    }
+
+    /**
+     * Returns the first time step at which an agent may park in the cell, ignoring parked agents.
+     */
+    int earliestPark(int x, int y) {
+        return lastReserved[cell(x, y)] + 1;
+    }
+
+    /**
+     * Returns true if another agent is parked in the cell for good, either because it reached
+     * its goal there or because it has not been routed away from its start yet.
+     */
+    boolean isClaimedGoal(int agent, int x, int y) {
+        int parked = parkedOwner[cell(x, y)];
+        return parked != NONE && parked != agent;
+    }
+
+    /**
+     * Re-checks a route planned against an older state of the table.
+     */
+    boolean isValid(int agent, Route route) {
+        int[] xs = route.xs();
+        int[] ys = route.ys();
+        for (int t = 0; t <= route.arrival(); t++) {
+            if (isBlocked(agent, xs[t], ys[t], t)) {
+                return false;
+            }
+            if (t > 0 && isSwap(agent, xs[t - 1], ys[t - 1], xs[t], ys[t], t - 1)) {
+                return false;
+            }
+        }
+        return canPark(agent, xs[route.arrival()], ys[route.arrival()], route.arrival());
+    }
+
+    /**
+     * Reserves every step of the route and parks the agent at its goal.
+     */
+    void commit(int agent, Route route) {
+        if (reserved + route.xs().length > tableEntries) {
+            allocate(Math.max(tableEntries * 2, reserved + route.xs().length));
+            for (int other = 0; other < committed.length; other++) {
+                if (committed[other] != null) {
+                    insert(other, committed[other]);
+                }
+            }
+        }
+        insert(agent, route);
+        reserved += route.xs().length;
+        committed[agent] = route;
+
+        int start = cell(route.xs()[0], route.ys()[0]);
+        if (parkedOwner[start] == agent) {
+            parkedOwner[start] = NONE;
+        }
+        int goal = cell(route.xs()[route.arrival()], route.ys()[route.arrival()]);
+        parkedOwner[goal] = agent;
+        parkedFrom[goal] = route.arrival();
+    }
+
+    private void insert(int agent, Route route) {
+        int[] xs = route.xs();
+        int[] ys = route.ys();
+        for (int t = 0; t < xs.length; t++) {
+            table.put(SpaceTimeTable.spaceTimeKey(xs[t], ys[t], t), agent);
+            int cell = cell(xs[t], ys[t]);
+            lastReserved[cell] = Math.max(lastReserved[cell], t);
+        }
+    }
+
+    private void allocate(long entries) {
+        this.tableEntries = Math.min(entries, 1 << 29);
+        this.table = new SpaceTimeTable((int) tableEntries);
+    }
+
+    private int cell(int x, int y) {
+        return y * width + x;
+    }
+}
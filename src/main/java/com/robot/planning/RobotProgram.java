@@ -0,0 +1,41 @@
+package com.robot.planning;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+
+/**
+ * Immutable description of a robot's start pose and the command string it will execute.
+ *
+ * @param robotId Identifier reported in conflicts
+ * @param start Starting position
+ * @param direction Starting direction
+ * @param commands Program consisting of L, R and F commands
+ */
+public record RobotProgram(String robotId, Position start, Direction direction, String commands) {
+
+    /**
+     * Validates the program.
+     *
+     * @throws IllegalArgumentException if the program contains an unknown command
+     */
+    public RobotProgram {
+        for (int i = 0; i < commands.length(); i++) {
+            char command = commands.charAt(i);
+            if (command != 'F' && command != 'L' && command != 'R') {
+                throw new IllegalArgumentException("Invalid command: " + command);
+            }
+        }
+    }
+
+    /**
+     * Creates a program starting from the robot's current pose.
+     *
+     * @param robot The robot whose position and direction are used
+     * @param commands Program consisting of L, R and F commands
+     * @return The program
+     */
+    public static RobotProgram of(Robot robot, String commands) {
+        return new RobotProgram(robot.getId(), robot.getPosition(), robot.getDirection(), commands);
+    }
+}
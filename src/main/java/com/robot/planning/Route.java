@@ -0,0 +1,15 @@
+package com.robot.planning;
+
+/**
+ * A planned path: the program and the cell occupied at every time step.
+ *
+ * @param program L/R/F commands, one per time step
+ * @param xs x-coordinate at each time step, {@code program.length() + 1} entries
+ * @param ys y-coordinate at each time step, {@code program.length() + 1} entries
+ */
+record Route(String program, int[] xs, int[] ys) {
+
+    int arrival() {
+        return program.length();
+    }
+}
@@ -0,0 +1,271 @@
+package com.robot.planning;
+
+import com.robot.domain.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Space-time A* search for a single agent against a {@link ReservationTable}.
+ * <p>
+ * States are (x, y, direction, t). Every command takes one time step, so turning doubles as
+ * waiting in place. The heuristic is weighted, trading slightly longer routes for far fewer
+ * expansions when a route has to dodge other agents. Instances keep their node, heap and closed-set buffers between searches
+ * and are not thread-safe; use one per thread.
+ */
+final class SpaceTimeSearch {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final char[] ACTIONS = {'F', 'L', 'R'};
+
+    // Time steps are limited so that (x, y, t, direction) fits a 64-bit closed-set key
+    static final int MAX_TIME = (1 << 20) - 1;
+
+    private static final int HEURISTIC_WEIGHT = 2;
+
+    private final int width;
+    private final int height;
+    private final int maxExpansions;
+
+    // Node pool
+    private int[] nodeX = new int[1024];
+    private int[] nodeY = new int[1024];
+    private int[] nodeT = new int[1024];
+    private byte[] nodeDirection = new byte[1024];
+    private byte[] nodeAction = new byte[1024];
+    private int[] nodeParent = new int[1024];
+    private int nodeCount;
+
+    // Binary min-heap of (priority, node) pairs
+    private long[] heapPriority = new long[1024];
+    private int[] heapNode = new int[1024];
+    private int heapSize;
+
+    // Closed set; a slot is in use only if its stamp matches the current search
+    private long[] closedKeys = new long[1 << 12];
+    private int[] closedStamps = new int[1 << 12];
+    private int closedSize;
+    private int stamp;
+
+    SpaceTimeSearch(int width, int height, int maxExpansions) {
+        this.width = width;
+        this.height = height;
+        this.maxExpansions = maxExpansions;
+    }
+
+    /**
+     * Finds a short route from the task's start pose to its goal.
+     *
+     * @return The route, or null if none was found within the expansion budget
+     */
+    Route search(int agent, PlanningTask task, ReservationTable reservations) {
+        int goalX = task.goal().x();
+        int goalY = task.goal().y();
+        if (reservations.isClaimedGoal(agent, goalX, goalY)) {
+            return null;
+        }
+        reset();
+        int startX = task.start().x();
+        int startY = task.start().y();
+        int startDirection = task.direction().ordinal();
+        int startHeuristic = heuristic(startX, startY, startDirection, goalX, goalY);
+        int node = addNode(startX, startY, 0, startDirection, -1, -1);
+
+        // No route can finish before the last agent passing through the goal has left it. Rather
+        // than searching the huge set of equally good states on the way, wait at the start cell,
+        // which no other agent may enter while this one is unplanned, by turning left and right
+        int delay = reservations.earliestPark(goalX, goalY) - startHeuristic;
+        for (int t = 0; t < delay + (delay & 1); t += 2) {
+            node = addNode(startX, startY, t + 1, (startDirection + 3) & 3, node, 1);
+            node = addNode(startX, startY, t + 2, startDirection, node, 2);
+        }
+        push(node, startHeuristic);
+
+        int expansions = 0;
+        while (heapSize > 0) {
+            node = pop();
+            int x = nodeX[node];
+            int y = nodeY[node];
+            int t = nodeT[node];
+            int direction = nodeDirection[node];
+            if (!close(x, y, t, direction)) {
+                continue;
+            }
+            if (x == goalX && y == goalY && reservations.canPark(agent, x, y, t)) {
+                return route(node);
+            }
+            if (++expansions > maxExpansions || t >= MAX_TIME) {
+                break;
+            }
+
+            int nx = x + DIRECTIONS[direction].dx();
+            int ny = y + DIRECTIONS[direction].dy();
+            if (nx >= 0 && nx < width && ny >= 0 && ny < height
+                    && !reservations.isBlocked(agent, nx, ny, t + 1)
+                    && !reservations.isSwap(agent, x, y, nx, ny, t)) {
+                push(addNode(nx, ny, t + 1, direction, node, 0), heuristic(nx, ny, direction, goalX, goalY));
+            }
+            if (!reservations.isBlocked(agent, x, y, t + 1)) {
+                int left = (direction + 3) & 3;
+                int right = (direction + 1) & 3;
+                push(addNode(x, y, t + 1, left, node, 1), heuristic(x, y, left, goalX, goalY));
+                push(addNode(x, y, t + 1, right, node, 2), heuristic(x, y, right, goalX, goalY));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Manhattan distance plus the minimum number of turns needed to face the goal.
+     */
+    private static int heuristic(int x, int y, int direction, int goalX, int goalY) {
+        int dx = goalX - x;
+        int dy = goalY - y;
+        int facingX = DIRECTIONS[direction].dx();
+        int facingY = DIRECTIONS[direction].dy();
+        boolean alignedX = dx != 0 && Integer.signum(dx) == facingX;
+        boolean alignedY = dy != 0 && Integer.signum(dy) == facingY;
+        int turns;
+        if (dx != 0 && dy != 0) {
+            turns = alignedX || alignedY ? 1 : 2;
+        } else if (dx != 0) {
+            turns = alignedX ? 0 : facingX == 0 ? 1 : 2;
+        } else if (dy != 0) {
+            turns = alignedY ? 0 : facingY == 0 ? 1 : 2;
+        } else {
+            turns = 0;
+        }
+        return Math.abs(dx) + Math.abs(dy) + turns;
+    }
+
+    private Route route(int goalNode) {
+        int length = nodeT[goalNode];
+        char[] program = new char[length];
+        int[] xs = new int[length + 1];
+        int[] ys = new int[length + 1];
+        for (int node = goalNode; node >= 0; node = nodeParent[node]) {
+            int t = nodeT[node];
+            xs[t] = nodeX[node];
+            ys[t] = nodeY[node];
+            if (t > 0) {
+                program[t - 1] = ACTIONS[nodeAction[node]];
+            }
+        }
+        return new Route(new String(program), xs, ys);
+    }
+
+    private void reset() {
+        nodeCount = 0;
+        heapSize = 0;
+        closedSize = 0;
+        if (++stamp == 0) {
+            Arrays.fill(closedStamps, 0);
+            stamp = 1;
+        }
+    }
+
+    private int addNode(int x, int y, int t, int direction, int parent, int action) {
+        if (nodeCount == nodeX.length) {
+            int size = nodeCount * 2;
+            nodeX = Arrays.copyOf(nodeX, size);
+            nodeY = Arrays.copyOf(nodeY, size);
+            nodeT = Arrays.copyOf(nodeT, size);
+            nodeDirection = Arrays.copyOf(nodeDirection, size);
+            nodeAction = Arrays.copyOf(nodeAction, size);
+            nodeParent = Arrays.copyOf(nodeParent, size);
+        }
+        nodeX[nodeCount] = x;
+        nodeY[nodeCount] = y;
+        nodeT[nodeCount] = t;
+        nodeDirection[nodeCount] = (byte) direction;
+        nodeAction[nodeCount] = (byte) action;
+        nodeParent[nodeCount] = parent;
+        return nodeCount++;
+    }
+
+    private void push(int node, int h) {
+        if (heapSize == heapNode.length) {
+            heapPriority = Arrays.copyOf(heapPriority, heapSize * 2);
+            heapNode = Arrays.copyOf(heapNode, heapSize * 2);
+        }
+        // Lowest weighted f first; among equal f prefer the node closest to the goal
+        long priority = ((long) (nodeT[node] + HEURISTIC_WEIGHT * h) << 32) | h;
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapPriority[parent] <= priority) {
+                break;
+            }
+            heapPriority[i] = heapPriority[parent];
+            heapNode[i] = heapNode[parent];
+            i = parent;
+        }
+        heapPriority[i] = priority;
+        heapNode[i] = node;
+    }
+
+    private int pop() {
+        int top = heapNode[0];
+        long lastPriority = heapPriority[--heapSize];
+        int lastNode = heapNode[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapPriority[child + 1] < heapPriority[child]) {
+                child++;
+            }
+            if (heapPriority[child] >= lastPriority) {
+                break;
+            }
+            heapPriority[i] = heapPriority[child];
+            heapNode[i] = heapNode[child];
+            i = child;
+        }
+        heapPriority[i] = lastPriority;
+        heapNode[i] = lastNode;
+        return top;
+    }
+
+    /**
+     * Adds a state to the closed set.
+     *
+     * @return false if the state was already closed
+     */
+    private boolean close(int x, int y, int t, int direction) {
+        if (closedSize * 2 >= closedKeys.length) {
+            growClosedSet();
+        }
+        long key = ((long) x << 43) | ((long) y << 22) | ((long) t << 2) | direction;
+        return insertClosed(key);
+    }
+
+    private boolean insertClosed(long key) {
+        int mask = closedKeys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (closedStamps[slot] == stamp) {
+            if (closedKeys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        closedStamps[slot] = stamp;
+        closedKeys[slot] = key;
+        closedSize++;
+        return true;
+    }
+
+    private void growClosedSet() {
+        long[] oldKeys = closedKeys;
+        int[] oldStamps = closedStamps;
+        int oldStamp = stamp;
+        closedKeys = new long[oldKeys.length * 2];
+        closedStamps = new int[oldKeys.length * 2];
+        closedSize = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStamps[i] == oldStamp) {
+                insertClosed(oldKeys[i]);
+            }
+        }
+    }
+}
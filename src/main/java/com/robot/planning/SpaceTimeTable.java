@@ -0,0 +1,174 @@
+package com.robot.planning;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity, lock-free open-addressing hash table from non-negative {@code long}
+ * keys to non-negative {@code int} values.
+ * Used as the primitive (x, y) and (x, y, t) index for trajectory and reservation checks,
+ * where boxing every step into a {@code HashMap} would dominate the cost.
+ */
+final class SpaceTimeTable {
+    static final int NO_VALUE = -1;
+
+    // Coordinates and time each get 21 bits in a packed space-time key
+    static final int MAX_COORDINATE = (1 << 21) - 1;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(int[].class);
+
+    // Plain arrays accessed through var handles, so clear() can use a bulk fill
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+
+    /**
+     * Creates a table able to hold the given number of entries at a load factor of at most one half.
+     *
+     * @param expectedEntries Number of entries the table must accommodate
+     */
+    SpaceTimeTable(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedEntries) * 2 - 1) << 1;
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Too many entries for space-time table: " + expectedEntries);
+        }
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Packs a cell into a key.
+     */
+    static long cellKey(int x, int y) {
+        return ((long) x << 32) | y;
+    }
+
+    /**
+     * Packs the edge between a cell and its east ({@code vertical} false) or north neighbour
+     * into a key. Cell keys never set bit 31, which distinguishes the two axes.
+     */
+    static long edgeKey(int x, int y, boolean vertical) {
+        return cellKey(x, y) | (vertical ? 1L << 31 : 0L);
+    }
+
+    /**
+     * Packs a cell and time step into a key.
+     * Callers must keep all three components within {@link #MAX_COORDINATE}.
+     */
+    static long spaceTimeKey(int x, int y, int t) {
+        return ((long) x << 42) | ((long) y << 21) | t;
+    }
+
+    /**
+     * Inserts a value unless the key is already present.
+     *
+     * @return {@link #NO_VALUE} if the value was inserted, otherwise the value already stored
+     */
+    int putIfAbsent(long key, int value) {
+        long stored = key + 1;
+        int slot = slot(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = (long) KEYS.getVolatile(keys, slot);
+            if (current == 0 && KEYS.compareAndSet(keys, slot, 0L, stored)) {
+                VALUES.setVolatile(values, slot, value + 1);
+                return NO_VALUE;
+            }
+            if ((long) KEYS.getVolatile(keys, slot) == stored) {
+                return awaitValue(slot);
+            }
+            slot = (slot + 1) & mask;
+        }
+        throw new IllegalStateException("Space-time table is full");
+    }
+
+    /**
+     * Inserts or replaces the value for a key.
+     */
+    void put(long key, int value) {
+        long stored = key + 1;
+        int slot = slot(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = (long) KEYS.getVolatile(keys, slot);
+            if (current == stored || (current == 0 && KEYS.compareAndSet(keys, slot, 0L, stored))
+                    || (long) KEYS.getVolatile(keys, slot) == stored) {
+                VALUES.setVolatile(values, slot, value + 1);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        throw new IllegalStateException("Space-time table is full");
+    }
+
+    /**
+     * Stores a value for a key and returns the value it replaced. Concurrent exchanges on one
+     * key are totally ordered, so callers can chain all values stored under a key into a list.
+     *
+     * @return The previous value, or {@link #NO_VALUE} if the key was absent
+     */
+    int exchange(long key, int value) {
+        long stored = key + 1;
+        int slot = slot(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = (long) KEYS.getVolatile(keys, slot);
+            if (current == stored || (current == 0 && KEYS.compareAndSet(keys, slot, 0L, stored))
+                    || (long) KEYS.getVolatile(keys, slot) == stored) {
+                // A claimed key whose first value is not yet published still reads 0, i.e. absent
+                return (int) VALUES.getAndSet(values, slot, value + 1) - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        throw new IllegalStateException("Space-time table is full");
+    }
+
+    /**
+     * Looks up the value for a key.
+     *
+     * @return The stored value, or {@link #NO_VALUE} if absent
+     */
+    int get(long key) {
+        long stored = key + 1;
+        int slot = slot(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = (long) KEYS.getVolatile(keys, slot);
+            if (current == stored) {
+                return awaitValue(slot);
+            }
+            if (current == 0) {
+                return NO_VALUE;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Removes all entries. Must not run concurrently with other operations.
+     */
+    void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, 0);
+    }
+
+    private int awaitValue(int slot) {
+        // A concurrent inserter claims the key before publishing the value
+        int value;
+        while ((value = (int) VALUES.getVolatile(values, slot)) == 0) {
+            Thread.onSpinWait();
+        }
+        return value - 1;
+    }
+
+    private int slot(long key) {
+        // MurmurHash3 finalizer
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,114 @@
+package com.robot.repository;
+
+import com.robot.domain.Room;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Grid index of robot positions for a room.
+ * <p>
+ * Per-cell counts answer point queries in O(1). A two-dimensional Fenwick tree over the
+ * same counts answers rectangle queries in O(log(width) * log(height)). All updates are
+ * atomic additions, so concurrent moves never lose counts; a query running alongside
+ * moves sees each move either applied or not.
+ */
+final class OccupancyIndex {
+
+    // Two int arrays of this size are allocated, so larger rooms are refused
+    static final int MAX_CELLS = 1 << 24;
+
+    private final int width;
+    private final int height;
+    private final AtomicIntegerArray cells;
+    // One-based Fenwick tree with (width + 1) * (height + 1) entries
+    private final AtomicIntegerArray tree;
+
+    OccupancyIndex(Room room) {
+        long cellCount = (long) room.width() * room.height();
+        if (cellCount > MAX_CELLS) {
+            throw new IllegalArgumentException("Room too large for an occupancy index: "
+                    + room.width() + "x" + room.height());
+        }
+        this.width = room.width();
+        this.height = room.height();
+        this.cells = new AtomicIntegerArray((int) cellCount);
+        this.tree = new AtomicIntegerArray((width + 1) * (height + 1));
+    }
+
+    /**
+     * Checks if the cell lies inside the indexed room.
+     */
+    boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Adds delta robots at the cell. Cells outside the room are ignored.
+     */
+    void add(int x, int y, int delta) {
+        if (!contains(x, y)) {
+            return;
+        }
+        cells.getAndAdd(y * width + x, delta);
+        addToTree(x, y, delta);
+    }
+
+    /**
+     * Counts one robot at the cell if, and only if, the cell is empty, as a single atomic step.
+     *
+     * @return true if the cell was empty and now holds the robot
+     */
+    boolean tryOccupy(int x, int y) {
+        if (!contains(x, y) || !cells.compareAndSet(y * width + x, 0, 1)) {
+            return false;
+        }
+        addToTree(x, y, 1);
+        return true;
+    }
+
+    private void addToTree(int x, int y, int delta) {
+        for (int i = x + 1; i <= width; i += i & -i) {
+            for (int j = y + 1; j <= height; j += j & -j) {
+                tree.getAndAdd(i * (height + 1) + j, delta);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of robots in the cell.
+     */
+    int count(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return 0;
+        }
+        return cells.get(y * width + x);
+    }
+
+    /**
+     * Returns the number of robots in the inclusive rectangle, clipped to the room.
+     */
+    int countInArea(int minX, int minY, int maxX, int maxY) {
+        minX = Math.max(minX, 0);
+        minY = Math.max(minY, 0);
+        maxX = Math.min(maxX, width - 1);
+        maxY = Math.min(maxY, height - 1);
+        if (minX > maxX || minY > maxY) {
+            return 0;
+        }
+        return prefix(maxX + 1, maxY + 1) - prefix(minX, maxY + 1)
+                - prefix(maxX + 1, minY) + prefix(minX, minY);
+    }
+
+    /**
+     * Sums the counts of all cells with x below xEnd and y below yEnd.
+     */
+    private int prefix(int xEnd, int yEnd) {
+        int sum = 0;
+        for (int i = xEnd; i > 0; i -= i & -i) {
+            for (int j = yEnd; j > 0; j -= j & -j) {
+                sum += tree.get(i * (height + 1) + j);
+            }
+        }
+        return sum;
+    }
+}
@@ -1,6 +1,10 @@
 package com.robot.repository;
 
+import com.robot.domain.Position;
 import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.domain.ZoneMap;
+import com.robot.monitoring.RepositoryOperationEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Map;
@@ -10,6 +14,15 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Thread-safe repository for managing robot instances.
  * Provides CRUD operations for Robot entities using an in-memory concurrent hash map.
+ * <p>
+ * A repository created for a {@link Room} also keeps an occupancy index, making cell and
+ * area lookups independent of the fleet size. Robots in such a repository must then be
+ * moved through {@link #relocate(Robot, Position, Position)}, which the simulation service
+ * does for every move, or saved again after changing their position directly. Such a
+ * repository also counts the robots inside each capacity-limited zone of the room: saves
+ * and deletes update the counts directly, and the simulation service admits moves between
+ * zones through {@link #tryEnterZone(int)} and {@link #leaveZone(int)}. Counts belong to the
+ * repository, so repositories sharing a room do not see each other's robots.
  */
 public class RobotRepository {
     private static final Logger log = LoggerFactory.getLogger(RobotRepository.class);
@@ -17,14 +30,56 @@ public class RobotRepository {
     // Thread-safe map to store robots with their IDs
     private final Map<String, Robot> robotStore = new ConcurrentHashMap<>();
 
+    // Position each robot is currently counted at in the index, if there is one
+    private final Map<String, Position> indexedPositions = new ConcurrentHashMap<>();
+    private final OccupancyIndex index;
+    private final ZoneMap zones;
+    private final ZoneOccupancy occupancy;
+
+    /**
+     * Creates a repository without an occupancy index.
+     * Cell and area lookups scan all robots.
+     */
+    public RobotRepository() {
+        this.index = null;
+        this.zones = ZoneMap.EMPTY;
+        this.occupancy = null;
+    }
+
+    /**
+     * Creates a repository that indexes robot positions within the given room.
+     *
+     * @param room The room the robots move in
+     * @throws IllegalArgumentException if the room has more than 2^24 cells
+     */
+    public RobotRepository(Room room) {
+        this.index = new OccupancyIndex(room);
+        this.zones = room.zones();
+        this.occupancy = new ZoneOccupancy(zones);
+        log.debug("Robot repository indexing a {}x{} room", room.width(), room.height());
+    }
+
     /**
      * Saves or updates a robot in the repository.
      *
      * @param robot The robot instance to save
+     * @throws IllegalArgumentException if the robot would enter a zone that is already full
      */
     public void save(Robot robot) {
         log.debug("Saving robot with ID: {} at position: {}", robot.getId(), robot.getPosition());
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        if (index != null) {
+            Position previous = indexedPositions.get(robot.getId());
+            // Admit into the new zone first, so a rejected save changes nothing
+            updateZones(robot.getId(), previous, robot.getPosition());
+            indexedPositions.put(robot.getId(), robot.getPosition());
+            if (previous != null) {
+                index.add(previous.x(), previous.y(), -1);
+            }
+            index.add(robot.getPosition().x(), robot.getPosition().y(), 1);
+        }
         robotStore.put(robot.getId(), robot);
+        commitOperation(event, "save", robot.getId());
     }
 
     /**
@@ -56,6 +111,186 @@ public class RobotRepository {
      */
     public void delete(String id) {
         log.debug("Deleting robot with ID: {}", id);
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
         robotStore.remove(id);
+        if (index != null) {
+            Position previous = indexedPositions.remove(id);
+            if (previous != null) {
+                index.add(previous.x(), previous.y(), -1);
+                updateZones(id, previous, null);
+            }
+        }
+        commitOperation(event, "delete", id);
+    }
+
+    /**
+     * Records that a stored robot moved. Does nothing for repositories without an index.
+     *
+     * @param robot The robot that moved
+     * @param from The cell it left
+     * @param to The cell it entered
+     */
+    public void relocate(Robot robot, Position from, Position to) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        if (index != null && indexedPositions.replace(robot.getId(), from, to)) {
+            index.add(to.x(), to.y(), 1);
+            index.add(from.x(), from.y(), -1);
+        }
+        commitOperation(event, "relocate", robot.getId());
+    }
+
+    /**
+     * Records that a stored robot moves into a cell, unless another robot is already there.
+     * For robots in a repository with an index, checking and claiming the cell is one atomic
+     * step, so concurrent moves into the same cell cannot both succeed. Otherwise this is an
+     * occupancy check followed by {@link #relocate(Robot, Position, Position)}.
+     *
+     * @param robot The robot that moves
+     * @param from The cell it leaves
+     * @param to The cell it enters
+     * @return true if the move was recorded, false if the target cell is occupied
+     */
+    public boolean tryRelocate(Robot robot, Position from, Position to) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        boolean moved;
+        if (index != null && from.equals(indexedPositions.get(robot.getId()))) {
+            moved = index.tryOccupy(to.x(), to.y());
+            if (moved) {
+                indexedPositions.replace(robot.getId(), from, to);
+                index.add(from.x(), from.y(), -1);
+            }
+        } else {
+            moved = !isOccupied(to.x(), to.y());
+            if (moved) {
+                relocate(robot, from, to);
+            }
+        }
+        commitOperation(event, "relocate", robot.getId());
+        return moved;
+    }
+
+    /**
+     * Checks if any robot occupies the given cell.
+     *
+     * @param x The x-coordinate of the cell
+     * @param y The y-coordinate of the cell
+     * @return true if at least one robot is in the cell
+     */
+    public boolean isOccupied(int x, int y) {
+        if (index != null) {
+            return index.count(x, y) > 0;
+        }
+        for (Robot robot : robotStore.values()) {
+            Position position = robot.getPosition();
+            if (position.x() == x && position.y() == y) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the robots inside an inclusive rectangle.
+     *
+     * @param minX Smallest x-coordinate of the area
+     * @param minY Smallest y-coordinate of the area
+     * @param maxX Largest x-coordinate of the area
+     * @param maxY Largest y-coordinate of the area
+     * @return The number of robots in the area
+     */
+    public int countInArea(int minX, int minY, int maxX, int maxY) {
+        if (index != null) {
+            return index.countInArea(minX, minY, maxX, maxY);
+        }
+        int count = 0;
+        for (Robot robot : robotStore.values()) {
+            Position position = robot.getPosition();
+            if (position.x() >= minX && position.x() <= maxX && position.y() >= minY && position.y() <= maxY) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Admits a robot moving into a zone, counting it against the zone's capacity.
+     * Repositories without an index do not count zones and admit every robot.
+     *
+     * @param zoneId Index of the zone in the room's {@link ZoneMap}
+     * @return true if the robot was admitted, false if the zone is full
+     */
+    public boolean tryEnterZone(int zoneId) {
+        return occupancy == null || occupancy.tryEnter(zoneId);
+    }
+
+    /**
+     * Records that a robot admitted through {@link #tryEnterZone(int)} or saved inside a zone
+     * left it.
+     *
+     * @param zoneId Index of the zone in the room's {@link ZoneMap}
+     */
+    public void leaveZone(int zoneId) {
+        if (occupancy != null) {
+            occupancy.leave(zoneId);
+        }
+    }
+
+    /**
+     * Returns the number of robots counted inside a capacity-limited zone; always 0 for other
+     * zones and for repositories without an index.
+     *
+     * @param zoneId Index of the zone in the room's {@link ZoneMap}
+     */
+    public int zoneOccupancy(int zoneId) {
+        return occupancy == null ? 0 : occupancy.count(zoneId);
+    }
+
+    /**
+     * Checks if this repository counts robots against the capacity of the given room's zones.
+     *
+     * @param room The room robots move in
+     * @return true if the repository was created for a room with the same zones
+     */
+    public boolean countsZonesOf(Room room) {
+        return occupancy != null && zones == room.zones();
+    }
+
+    /**
+     * Moves a robot's count between zones when it is placed, moved directly or removed.
+     *
+     * @throws IllegalArgumentException if the zone the robot is placed in is full
+     */
+    private void updateZones(String robotId, Position from, Position to) {
+        if (zones.isEmpty()) {
+            return;
+        }
+        int fromZone = from == null || !inRoom(from) ? -1 : zones.zoneAt(from.x(), from.y());
+        int toZone = to == null || !inRoom(to) ? -1 : zones.zoneAt(to.x(), to.y());
+        if (fromZone != toZone) {
+            if (toZone >= 0 && !occupancy.tryEnter(toZone)) {
+                log.warn("Rejected saving robot {} into full zone {}", robotId, zones.zone(toZone).name());
+                throw new IllegalArgumentException("Zone " + zones.zone(toZone).name() + " is full; cannot place robot "
+                        + robotId + " at " + to);
+            }
+            if (fromZone >= 0) {
+                occupancy.leave(fromZone);
+            }
+        }
+    }
+
+    private boolean inRoom(Position position) {
+        return index.contains(position.x(), position.y());
+    }
+
+    /**
+     * Commits the operation event if it is recorded.
+     */
+    private void commitOperation(RepositoryOperationEvent event, String operation, String robotId) {
+        if (event != null && event.shouldCommit()) {
+            event.setOperation(operation);
+            event.setRobotId(robotId);
+            event.setIndexed(index != null);
+            event.commit();
+        }
     }
 }
@@ -0,0 +1,62 @@
+package com.robot.repository;
+
+import com.robot.domain.Zone;
+import com.robot.domain.ZoneMap;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Number of robots inside each capacity-limited zone of a room, as seen by one repository.
+ * Counters are only incremented while below capacity, so concurrent moves and saves never
+ * overfill a zone.
+ */
+final class ZoneOccupancy {
+    private final ZoneMap zones;
+    private final AtomicIntegerArray counts;
+
+    ZoneOccupancy(ZoneMap zones) {
+        this.zones = zones;
+        this.counts = new AtomicIntegerArray(zones.zones().size());
+    }
+
+    /**
+     * Counts a robot entering a zone if it has room for one more.
+     *
+     * @return true if the robot was admitted
+     */
+    boolean tryEnter(int id) {
+        Zone zone = zones.zone(id);
+        if (!zone.isCapacityLimited()) {
+            return true;
+        }
+        while (true) {
+            int current = counts.get(id);
+            if (current >= zone.capacity()) {
+                return false;
+            }
+            if (counts.compareAndSet(id, current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records that a robot left a zone.
+     */
+    void leave(int id) {
+        if (!zones.zone(id).isCapacityLimited()) {
+            return;
+        }
+        // A robot whose position was changed without saving it may leave uncounted
+        while (true) {
+            int current = counts.get(id);
+            if (current == 0 || counts.compareAndSet(id, current, current - 1)) {
+                return;
+            }
+        }
+    }
+
+    int count(int id) {
+        return counts.get(id);
+    }
+}
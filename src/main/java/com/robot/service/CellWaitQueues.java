@@ -0,0 +1,356 @@
+package com.robot.service;
+
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait queues for robots blocked by an occupied cell or a full zone, with deadlock detection.
+ * <p>
+ * Each cell or zone someone waits for has a lock-free queue of parked waiters. A waiter
+ * enqueues itself before re-checking its move and only then parks, and a robot leaving a cell
+ * or zone wakes one waiter for the place it freed after its move is visible, so no wake-up is
+ * lost: an unpark arriving before the park makes the park return immediately. Each signal goes
+ * to the oldest waiter not already woken, so several places freed in a row wake as many
+ * waiters, and a woken waiter that stops waiting without taking the place passes the signal
+ * on. Parking suspends virtual threads without occupying a carrier, so waiting robots cost
+ * memory but no CPU.
+ * <p>
+ * A background task periodically builds the waits-for graph of robots waiting for cells:
+ * a robot points to the waiting robot standing on its target cell. Every robot waits for at
+ * most one cell, so each cycle is found by following these pointers, and the most recent
+ * waiter of each cycle is chosen as the victim and woken up. When victims give up instead of
+ * skipping their move, they stay on their cell and nobody behind them could ever move, so
+ * every robot whose chain of waits ends at the victim is woken and fails as well.
+ * <p>
+ * Robots waiting for a full zone are not part of the graph: who would free a place is not
+ * known, so a cycle running through a zone is only broken by the waiters' timeouts.
+ * <p>
+ * The task's thread only runs
+ * while robots are waiting: it stops itself once none are left, the next wait starts it
+ * again, and {@link #close()} stops it for good.
+ */
+final class CellWaitQueues {
+    private static final Logger log = LoggerFactory.getLogger(CellWaitQueues.class);
+
+    private final Map<Long, ConcurrentLinkedQueue<Waiter>> queues = new ConcurrentHashMap<>();
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final long detectionIntervalNanos;
+    private volatile boolean failDependents;
+    private ScheduledExecutorService detector; // guarded by this
+
+    CellWaitQueues(long detectionIntervalNanos) {
+        this.detectionIntervalNanos = detectionIntervalNanos;
+    }
+
+    /**
+     * Returns the queue key of a cell.
+     */
+    static long cellKey(int x, int y) {
+        return ((long) x << 32) | y;
+    }
+
+    /**
+     * Returns the queue key of a zone; never equal to a cell key, since cells are not negative.
+     */
+    static long zoneKey(int zoneId) {
+        return -1L - zoneId;
+    }
+
+    /**
+     * Registers the current thread as waiting for a cell or zone. Must be followed by a final
+     * check of the awaited condition before parking, and by {@link #dequeue(Waiter, boolean)}.
+     *
+     * @param robot The waiting robot
+     * @param key The cell or zone key the robot waits for
+     * @return The registration
+     */
+    Waiter enqueue(Robot robot, long key) {
+        Waiter waiter = new Waiter(robot, key, Thread.currentThread(), sequence.incrementAndGet());
+        // Adding inside compute keeps the queue from being removed as empty in between
+        queues.compute(key, (k, queue) -> {
+            ConcurrentLinkedQueue<Waiter> target = queue != null ? queue : new ConcurrentLinkedQueue<>();
+            target.add(waiter);
+            return target;
+        });
+        waiters.add(waiter);
+        waiting.incrementAndGet();
+        startDetector();
+        return waiter;
+    }
+
+    /**
+     * Sets whether the robots waiting behind a victim are failed together with it, for
+     * victims that abort and keep their cell.
+     */
+    void setFailDependents(boolean failDependents) {
+        this.failDependents = failDependents;
+    }
+
+    /**
+     * Removes a registration once the robot stops waiting.
+     *
+     * @param waiter The registration
+     * @param acquired Whether the robot took the cell or zone place it waited for
+     */
+    void dequeue(Waiter waiter, boolean acquired) {
+        waiting.decrementAndGet();
+        waiters.remove(waiter);
+        ConcurrentLinkedQueue<Waiter> queue = queues.get(waiter.key);
+        if (queue != null) {
+            queue.remove(waiter);
+            queues.computeIfPresent(waiter.key, (k, current) -> current.isEmpty() ? null : current);
+        }
+        // A wake-up received after the last retry was not used, so the freed place is still free
+        if (!acquired && waiter.signalled) {
+            signal(waiter.key);
+        }
+    }
+
+    /**
+     * Wakes the oldest robot waiting for a cell or zone that has not been woken yet; called
+     * after a robot left it, freeing one place.
+     */
+    void signal(long key) {
+        if (waiting.get() == 0) {
+            return;
+        }
+        ConcurrentLinkedQueue<Waiter> queue = queues.get(key);
+        if (queue != null) {
+            for (Waiter waiter : queue) {
+                if (waiter.trySignal()) {
+                    LockSupport.unpark(waiter.thread);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of robots currently waiting.
+     */
+    int waitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * Stops the deadlock detector's thread.
+     */
+    synchronized void close() {
+        stopDetector();
+    }
+
+    // Starting and stopping under the same lock as the idle check below means a robot that
+    // starts waiting either keeps the running detector alive or starts a new one
+    private synchronized void startDetector() {
+        if (detector == null) {
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "deadlock-detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::runDetection, detectionIntervalNanos,
+                    detectionIntervalNanos, TimeUnit.NANOSECONDS);
+            detector = executor;
+        }
+    }
+
+    private void runDetection() {
+        synchronized (this) {
+            if (waiting.get() == 0) {
+                stopDetector();
+                return;
+            }
+        }
+        detectDeadlocks();
+    }
+
+    private void stopDetector() {
+        if (detector != null) {
+            detector.shutdown();
+            detector = null;
+        }
+    }
+
+    /**
+     * Finds cycles among robots waiting for cells and wakes one victim per cycle, along with
+     * the robots waiting behind it if dependents are failed.
+     *
+     * @return The number of waiters woken to fail
+     */
+    int detectDeadlocks() {
+        if (waiting.get() == 0) {
+            return 0;
+        }
+        Map<Long, Waiter> byPosition = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.key >= 0 && !waiter.victim) {
+                Position position = waiter.robot.getPosition();
+                byPosition.put(cellKey(position.x(), position.y()), waiter);
+            }
+        }
+        // 0 = unvisited, 1 = on the current path, 2 = finished
+        Map<Waiter, Integer> state = new HashMap<>();
+        Map<Waiter, List<Waiter>> dependents = null;
+        int victims = 0;
+        for (Waiter start : byPosition.values()) {
+            List<Waiter> path = new ArrayList<>();
+            Waiter current = start;
+            while (current != null && state.getOrDefault(current, 0) == 0) {
+                state.put(current, 1);
+                path.add(current);
+                current = byPosition.get(current.key);
+            }
+            if (current != null && state.get(current) == 1) {
+                List<Waiter> cycle = path.subList(path.indexOf(current), path.size());
+                if (stillDeadlocked(cycle)) {
+                    Waiter victim = cycle.get(0);
+                    for (Waiter waiter : cycle) {
+                        if (waiter.sequence > victim.sequence) {
+                            victim = waiter;
+                        }
+                    }
+                    log.debug("Deadlock among {} waiting robots, aborting wait of {}", cycle.size(), victim.robot.getId());
+                    victim.victim = true;
+                    LockSupport.unpark(victim.thread);
+                    victims++;
+                    if (failDependents) {
+                        if (dependents == null) {
+                            dependents = dependents(byPosition);
+                        }
+                        victims += failDependents(victim, dependents);
+                    }
+                }
+            }
+            for (Waiter waiter : path) {
+                state.put(waiter, 2);
+            }
+        }
+        return victims;
+    }
+
+    /**
+     * Inverts the waits-for graph: for each waiter, the waiters whose target cell it stands on.
+     */
+    private static Map<Waiter, List<Waiter>> dependents(Map<Long, Waiter> byPosition) {
+        Map<Waiter, List<Waiter>> dependents = new HashMap<>();
+        for (Waiter waiter : byPosition.values()) {
+            Waiter blocker = byPosition.get(waiter.key);
+            if (blocker != null) {
+                dependents.computeIfAbsent(blocker, k -> new ArrayList<>()).add(waiter);
+            }
+        }
+        return dependents;
+    }
+
+    /**
+     * Wakes every waiter whose chain of waits leads to the victim, including the rest of its cycle.
+     *
+     * @return The number of waiters failed
+     */
+    private static int failDependents(Waiter victim, Map<Waiter, List<Waiter>> dependents) {
+        List<Waiter> pending = new ArrayList<>(dependents.getOrDefault(victim, List.of()));
+        int failed = 0;
+        while (!pending.isEmpty()) {
+            Waiter waiter = pending.remove(pending.size() - 1);
+            if (waiter.victim) {
+                continue;
+            }
+            waiter.victim = true;
+            LockSupport.unpark(waiter.thread);
+            failed++;
+            pending.addAll(dependents.getOrDefault(waiter, List.of()));
+        }
+        if (failed > 0) {
+            log.debug("Failing {} robots waiting behind {}", failed, victim.robot.getId());
+        }
+        return failed;
+    }
+
+    /**
+     * Re-reads positions so that a robot which moved while the graph was built does not
+     * produce a false deadlock.
+     */
+    private boolean stillDeadlocked(List<Waiter> cycle) {
+        for (int i = 0; i < cycle.size(); i++) {
+            Waiter waiter = cycle.get(i);
+            Waiter next = cycle.get((i + 1) % cycle.size());
+            Position position = next.robot.getPosition();
+            if (!waiters.contains(waiter) || waiter.key != cellKey(position.x(), position.y())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A robot waiting for a cell or zone.
+     */
+    static final class Waiter {
+        private static final VarHandle SIGNALLED;
+
+        static {
+            try {
+                SIGNALLED = MethodHandles.lookup().findVarHandle(Waiter.class, "signalled", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final Robot robot;
+        private final long key;
+        private final Thread thread;
+        private final long sequence;
+        private volatile boolean victim;
+        private volatile boolean signalled;
+
+        private Waiter(Robot robot, long key, Thread thread, long sequence) {
+            this.robot = robot;
+            this.key = key;
+            this.thread = thread;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Returns true if the deadlock detector chose this waiter to break a cycle, or failed it
+         * because it waits behind such a victim.
+         */
+        boolean isVictim() {
+            return victim;
+        }
+
+        long key() {
+            return key;
+        }
+
+        /**
+         * Marks the waiter as not woken; called before each re-check of the awaited place.
+         */
+        void clearSignal() {
+            signalled = false;
+        }
+
+        private boolean trySignal() {
+            return !signalled && SIGNALLED.compareAndSet(this, false, true);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.robot.service;
+
+/**
+ * Determines how a robot chosen to break a deadlock among waiting robots continues.
+ * The victim of each cycle is the robot that started waiting last.
+ */
+public enum DeadlockPolicy {
+    /**
+     * End the victim's program with {@link FailureCode#DEADLOCK}. The victim keeps its cell,
+     * so every robot waiting behind it, including the rest of its cycle, fails the same way.
+     */
+    ABORT_VICTIM,
+    /**
+     * Give up the victim's blocked move and continue with its next command; the result still
+     * reports {@link FailureCode#DEADLOCK} as the first failure.
+     */
+    SKIP_VICTIM_MOVE
+}
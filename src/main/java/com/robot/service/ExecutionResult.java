@@ -0,0 +1,32 @@
+package com.robot.service;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+
+/**
+ * Outcome of executing a command program, returned instead of throwing on blocked moves.
+ *
+ * @param x Final x-coordinate of the robot
+ * @param y Final y-coordinate of the robot
+ * @param direction Final direction of the robot
+ * @param stepsExecuted Number of commands that were applied
+ * @param failure Reason for the first failed command, or {@link FailureCode#NONE}
+ * @param failingStep Zero-based index of the first failed command, or -1 if none failed
+ */
+public record ExecutionResult(int x, int y, Direction direction, int stepsExecuted,
+                              FailureCode failure, int failingStep) {
+
+    /**
+     * Returns true if every command was applied.
+     */
+    public boolean isSuccess() {
+        return failure == FailureCode.NONE;
+    }
+
+    /**
+     * Returns the final position of the robot.
+     */
+    public Position finalPosition() {
+        return new Position(x, y);
+    }
+}
@@ -0,0 +1,23 @@
+package com.robot.service;
+
+/**
+ * Reason why a command could not be executed.
+ */
+public enum FailureCode {
+    /** All commands were executed. */
+    NONE,
+    /** A forward move would have left the room. */
+    OUT_OF_BOUNDS,
+    /** A forward move was blocked by another robot. */
+    COLLISION,
+    /** The program contained an unknown command character. */
+    INVALID_COMMAND,
+    /** A forward move would have entered a forbidden zone. */
+    ZONE_FORBIDDEN,
+    /** A forward move would have entered a zone that is at capacity. */
+    ZONE_FULL,
+    /** A forward move would have entered a zone from a direction it does not admit. */
+    ZONE_ENTRY_DIRECTION,
+    /** A waiting robot was chosen to break a cycle of robots waiting for each other. */
+    DEADLOCK
+}
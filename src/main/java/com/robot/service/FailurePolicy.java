@@ -0,0 +1,18 @@
+package com.robot.service;
+
+/**
+ * Determines how a robot reacts when one of its commands cannot be executed.
+ */
+public enum FailurePolicy {
+    /** Abandon the rest of the program. */
+    STOP,
+    /** Skip the failing command and continue with the next one. */
+    SKIP,
+    /**
+     * Wait for a blocked cell to be left or a full zone to free up, then continue; gives up
+     * like {@link #STOP} when the wait times out. Waiting robots are parked until woken, and
+     * deadlocks among them are broken according to the service's {@link DeadlockPolicy}.
+     * Other failures cannot be waited out and stop the program immediately.
+     */
+    WAIT
+}
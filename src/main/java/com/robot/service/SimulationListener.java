@@ -0,0 +1,74 @@
+package com.robot.service;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Zone;
+
+/**
+ * Callback interface for observing robot activity inside a {@link SimulationService}.
+ * Listeners are invoked synchronously on the thread executing the commands, so
+ * implementations must be cheap and thread-safe.
+ */
+public interface SimulationListener {
+
+    /**
+     * Called before a robot executes a program, unless the outcome is replayed from a cache.
+     *
+     * @param robot The robot about to execute
+     * @param start The position the robot starts from
+     */
+    default void onExecutionStart(Robot robot, Position start) {
+    }
+
+    /**
+     * Called after a robot has moved one cell forward.
+     *
+     * @param robot The robot that moved
+     * @param from The position before the move
+     * @param to The position after the move
+     */
+    default void onMove(Robot robot, Position from, Position to) {
+    }
+
+    /**
+     * Called when a forward move is blocked because the target cell is occupied.
+     *
+     * @param robot The robot whose move was blocked
+     * @param target The occupied position the robot tried to enter
+     */
+    default void onCollision(Robot robot, Position target) {
+    }
+
+    /**
+     * Called after a robot has turned in place.
+     *
+     * @param robot The robot that turned
+     * @param from The direction before the turn
+     * @param to The direction after the turn
+     */
+    default void onTurn(Robot robot, Direction from, Direction to) {
+    }
+
+    /**
+     * Called when a forward move is rejected because the target lies outside the room.
+     * Coordinates are passed as plain integers because they may be negative.
+     *
+     * @param robot The robot whose move was rejected
+     * @param x The x-coordinate the robot tried to enter
+     * @param y The y-coordinate the robot tried to enter
+     */
+    default void onOutOfBounds(Robot robot, int x, int y) {
+    }
+
+    /**
+     * Called when a forward move is rejected by the rules of a zone.
+     *
+     * @param robot The robot whose move was rejected
+     * @param target The position the robot tried to enter
+     * @param zone The zone covering the target
+     * @param reason Which rule rejected the move
+     */
+    default void onZoneViolation(Robot robot, Position target, Zone zone, FailureCode reason) {
+    }
+}
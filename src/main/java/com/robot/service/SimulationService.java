@@ -1,114 +1,621 @@
 package com.robot.service;
 
+import com.robot.cache.ProgramKey;
+import com.robot.cache.ProgramOutcome;
+import com.robot.cache.ProgramOutcomeCache;
 import com.robot.domain.Direction;
 import com.robot.domain.Position;
 import com.robot.domain.Robot;
 import com.robot.domain.Room;
+import com.robot.domain.Zone;
+import com.robot.domain.ZoneMap;
 import com.robot.exception.RobotCollisionException;
 import com.robot.exception.RobotOutOfBoundsException;
+import com.robot.exception.RobotZoneViolationException;
+import com.robot.monitoring.CollisionCheckEvent;
+import com.robot.monitoring.CommandExecutionEvent;
+import com.robot.monitoring.MoveEvent;
+import com.robot.monitoring.TurnEvent;
 import com.robot.repository.RobotRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * Service class responsible for handling robot movement simulation within a defined room.
  * Manages robot movements, turns, and collision detection.
+ * <p>
+ * Program executions, moves, turns and collision checks are reported as Flight Recorder
+ * events (see {@code com.robot.monitoring}); they cost next to nothing while no recording
+ * enables them.
+ * <p>
+ * Waiting robots are checked for deadlocks by a background thread, which {@link #close()}
+ * stops.
  */
-public class SimulationService {
+public class SimulationService implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(SimulationService.class);
+
+    // How often waiting robots are checked for deadlocks
+    private static final long DEADLOCK_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
     private final RobotRepository repository;
     private final Room room;
+    private final List<SimulationListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, FailurePolicy> failurePolicies = new ConcurrentHashMap<>();
+    private volatile FailurePolicy defaultFailurePolicy = FailurePolicy.STOP;
+    private volatile long waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private volatile DeadlockPolicy deadlockPolicy = DeadlockPolicy.ABORT_VICTIM;
+    private final CellWaitQueues waitQueues = new CellWaitQueues(DEADLOCK_CHECK_INTERVAL_NANOS);
+    private volatile ProgramOutcomeCache outcomeCache;
+    private final AtomicInteger concurrentRuns = new AtomicInteger();
 
     /**
      * Constructs a new SimulationService with the specified repository and room.
      *
      * @param repository The repository managing robot instances
      * @param room The room defining the boundaries for robot movement
+     * @throws IllegalArgumentException if the room has capacity-limited zones and the
+     *                                  repository was not created for it
      */
     public SimulationService(RobotRepository repository, Room room) {
+        if (room.zones().hasCapacityLimits() && !repository.countsZonesOf(room)) {
+            throw new IllegalArgumentException(
+                    "Rooms with zone capacities need a RobotRepository created for the room");
+        }
         this.repository = repository;
         this.room = room;
+        waitQueues.setFailDependents(deadlockPolicy == DeadlockPolicy.ABORT_VICTIM);
         log.info("SimulationService initialized with room dimensions: {}x{}", room.width(), room.height());
     }
 
+    /**
+     * Registers a listener that is notified of program starts, moves, turns, collisions and boundary hits.
+     *
+     * @param listener The listener to add
+     */
+    public void addListener(SimulationListener listener) {
+        listeners.add(listener);
+        log.debug("Simulation listener registered: {}", listener.getClass().getSimpleName());
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(SimulationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the failure policy used for robots without an individual policy.
+     *
+     * @param policy The default policy
+     */
+    public void setDefaultFailurePolicy(FailurePolicy policy) {
+        this.defaultFailurePolicy = Objects.requireNonNull(policy);
+        log.debug("Default failure policy set to {}", policy);
+    }
+
+    /**
+     * Sets the failure policy for a specific robot.
+     *
+     * @param robotId The ID of the robot
+     * @param policy The policy applied when one of the robot's commands fails
+     */
+    public void setFailurePolicy(String robotId, FailurePolicy policy) {
+        failurePolicies.put(robotId, Objects.requireNonNull(policy));
+        log.debug("Failure policy for {} set to {}", robotId, policy);
+    }
+
+    /**
+     * Sets how long a robot using {@link FailurePolicy#WAIT} waits for a blocked cell.
+     *
+     * @param timeout Maximum wait per blocked move; durations too long to count in nanoseconds
+     *                wait indefinitely
+     * @throws IllegalArgumentException if the timeout is negative
+     */
+    public void setWaitTimeout(Duration timeout) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Wait timeout must not be negative");
+        }
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            nanos = Long.MAX_VALUE;
+        }
+        this.waitTimeoutNanos = nanos;
+    }
+
+    /**
+     * Sets how a robot chosen to break a deadlock among waiting robots continues.
+     *
+     * @param policy The deadlock policy
+     */
+    public void setDeadlockPolicy(DeadlockPolicy policy) {
+        this.deadlockPolicy = Objects.requireNonNull(policy);
+        waitQueues.setFailDependents(policy == DeadlockPolicy.ABORT_VICTIM);
+        log.debug("Deadlock policy set to {}", policy);
+    }
+
+    /**
+     * Enables replaying cached program outcomes instead of walking programs command by command.
+     * A cached outcome is applied only while no listeners are registered, since listeners expect
+     * an event for every step, only in rooms without zones, whose rules are checked per step,
+     * and only when no other robot is inside the area the program sweeps. Pair it with a
+     * {@link RobotRepository} created for the room so that this check does not scan the whole
+     * fleet. The swept area cannot be reserved, so the cache is bypassed while
+     * {@link #executeConcurrently(Map)} runs or robots wait for cells; a replay still claims its
+     * end cell atomically, so concurrent callers of {@code execute} never share a cell.
+     *
+     * @param cache The cache to use, or null to disable caching
+     */
+    public void setOutcomeCache(ProgramOutcomeCache cache) {
+        this.outcomeCache = cache;
+        log.debug("Program outcome cache {}", cache == null ? "disabled" : "enabled");
+    }
+
     /**
      * Executes a series of commands for a specific robot.
      * Valid commands are: F (Forward), L (Left), R (Right)
+     * This is a thin wrapper around {@link #execute(Robot, String, FailurePolicy)} that stops at
+     * the first failed command and reports it as an exception.
      *
      * @param robot The robot to execute commands on
      * @param commands String of commands to execute
      * @throws IllegalArgumentException if an invalid command is provided
+     * @throws RobotOutOfBoundsException if a move would leave the room
+     * @throws RobotCollisionException if a move is blocked by another robot
+     * @throws RobotZoneViolationException if a move breaks the rules of a zone
      */
     public void executeCommands(Robot robot, String commands) {
+        ExecutionResult result = execute(robot, commands, FailurePolicy.STOP);
+        if (result.isSuccess()) {
+            return;
+        }
+        char command = commands.charAt(result.failingStep());
+        String target = formatPosition(result.x() + result.direction().dx(), result.y() + result.direction().dy());
+        switch (result.failure()) {
+            case OUT_OF_BOUNDS -> {
+                log.warn("Robot attempted to move out of bounds to position: {}", target);
+                throw new RobotOutOfBoundsException("Position out of bounds: " + target);
+            }
+            case COLLISION -> {
+                log.warn("Collision detected at position: {}", target);
+                throw new RobotCollisionException("Collision detected at position " + target);
+            }
+            case ZONE_FORBIDDEN, ZONE_FULL, ZONE_ENTRY_DIRECTION -> {
+                ZoneMap zones = room.zones();
+                Zone zone = zones.zone(zones.zoneAt(result.x() + result.direction().dx(),
+                        result.y() + result.direction().dy()));
+                log.warn("Zone {} rejected move to position: {} ({})", zone.name(), target, result.failure());
+                throw new RobotZoneViolationException("Zone " + zone.name() + " rejected move to position "
+                        + target + ": " + result.failure());
+            }
+            default -> {
+                log.error("Invalid command encountered: {}", command);
+                throw new IllegalArgumentException("Invalid command: " + command);
+            }
+        }
+    }
+
+    /**
+     * Executes the programs of many robots concurrently, one virtual thread per robot, using
+     * the failure policy configured for each robot. With {@link FailurePolicy#WAIT}, blocked
+     * robots park without holding a carrier thread, so fleets far larger than the number of
+     * cores can wait at once. Moves are claimed atomically when the repository was created
+     * for the room.
+     *
+     * @param programs Command string per robot
+     * @return The outcome per robot, in the iteration order of {@code programs}
+     */
+    public Map<Robot, ExecutionResult> executeConcurrently(Map<Robot, String> programs) {
+        Map<Robot, Future<ExecutionResult>> futures = new LinkedHashMap<>();
+        concurrentRuns.incrementAndGet();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            programs.forEach((robot, commands) -> futures.put(robot, executor.submit(() -> execute(robot, commands))));
+        } finally {
+            concurrentRuns.decrementAndGet();
+        }
+        Map<Robot, ExecutionResult> results = new LinkedHashMap<>();
+        futures.forEach((robot, future) -> {
+            try {
+                results.put(robot, future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while collecting results", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Execution failed for " + robot.getId(), e.getCause());
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Executes a series of commands using the failure policy configured for the robot.
+     *
+     * @param robot The robot to execute commands on
+     * @param commands String of commands to execute
+     * @return The outcome of the execution
+     */
+    public ExecutionResult execute(Robot robot, String commands) {
+        return execute(robot, commands, failurePolicies.getOrDefault(robot.getId(), defaultFailurePolicy));
+    }
+
+    /**
+     * Executes a series of commands without throwing on blocked moves or invalid commands.
+     * Failures are reported in the returned result and handled according to the given policy.
+     *
+     * @param robot The robot to execute commands on
+     * @param commands String of commands to execute
+     * @param policy How to react when a command fails
+     * @return The outcome of the execution
+     */
+    public ExecutionResult execute(Robot robot, String commands, FailurePolicy policy) {
         log.debug("Executing commands '{}' for robot at position {}", commands, robot.getPosition());
-        for (char command : commands.toCharArray()) {
-            switch (command) {
-                case 'F' -> moveForward(robot);
-                case 'L' -> turnLeft(robot);
-                case 'R' -> turnRight(robot);
-                default -> {
-                    log.error("Invalid command encountered: {}", command);
-                    throw new IllegalArgumentException("Invalid command: " + command);
+        CommandExecutionEvent event = CommandExecutionEvent.start();
+        ExecutionResult result = null;
+        ProgramOutcomeCache cache = outcomeCache;
+        ProgramKey missedKey = null;
+        if (cache != null && listeners.isEmpty() && !room.hasZones()
+                && concurrentRuns.get() == 0 && waitQueues.waitingCount() == 0) {
+            Position start = robot.getPosition();
+            ProgramKey key = new ProgramKey(start.x(), start.y(), robot.getDirection(), commands,
+                    room.width(), room.height());
+            ProgramOutcome outcome = cache.get(key);
+            if (outcome != null) {
+                result = replayCachedOutcome(robot, commands, outcome);
+            } else {
+                missedKey = key;
+            }
+        }
+        boolean cached = result != null;
+        if (!cached) {
+            for (SimulationListener listener : listeners) {
+                listener.onExecutionStart(robot, robot.getPosition());
+            }
+            SweptArea swept = missedKey != null ? new SweptArea(robot.getPosition()) : null;
+            result = executeSteps(robot, commands, policy, swept);
+            // Only a run in which every command succeeded matches the program's outcome on an
+            // empty floor; programs leaving the room or containing invalid commands never do
+            if (swept != null && result.isSuccess()) {
+                cache.put(missedKey, swept.toOutcome(result));
+            }
+        }
+        if (event != null && event.shouldCommit()) {
+            event.setRobotId(robot.getId());
+            event.setProgram(commands);
+            event.setCommandCount(commands.length());
+            event.setExecutedCount(result.stepsExecuted());
+            event.setOutcome(result.failure().name());
+            event.setPolicy(policy.name());
+            event.setCached(cached);
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Stops the deadlock detector. The detector also stops by itself whenever no robot is
+     * waiting, so closing is only needed to release it while robots still wait.
+     */
+    @Override
+    public void close() {
+        waitQueues.close();
+    }
+
+    /**
+     * Executes the program command by command, recording the visited cells if {@code swept}
+     * is given.
+     */
+    private ExecutionResult executeSteps(Robot robot, String commands, FailurePolicy policy, SweptArea swept) {
+        int executed = 0;
+        FailureCode firstFailure = FailureCode.NONE;
+        int failingStep = -1;
+        for (int step = 0; step < commands.length(); step++) {
+            FailureCode failure = executeCommand(robot, commands.charAt(step));
+            if (policy == FailurePolicy.WAIT && isTransient(failure)) {
+                failure = awaitFreeCell(robot, failure);
+            }
+            if (failure == FailureCode.NONE) {
+                executed++;
+                if (swept != null) {
+                    swept.add(robot.getPosition());
                 }
+                continue;
+            }
+            if (firstFailure == FailureCode.NONE) {
+                firstFailure = failure;
+                failingStep = step;
+            }
+            boolean skipVictimMove = failure == FailureCode.DEADLOCK
+                    && deadlockPolicy == DeadlockPolicy.SKIP_VICTIM_MOVE;
+            if (policy != FailurePolicy.SKIP && !skipVictimMove) {
+                break;
             }
         }
         log.debug("Commands execution completed. Robot final position: {}", robot.getPosition());
+        return new ExecutionResult(robot.getPosition().x(), robot.getPosition().y(), robot.getDirection(),
+                executed, firstFailure, failingStep);
+    }
+
+    /**
+     * Applies a cached outcome in one step if the program's swept area is free.
+     *
+     * @return The result, or null if the program has to be executed command by command
+     */
+    private ExecutionResult replayCachedOutcome(Robot robot, String commands, ProgramOutcome outcome) {
+        Position start = robot.getPosition();
+        int self = repository.findById(robot.getId()) == robot ? 1 : 0;
+        if (repository.countInArea(outcome.minX(), outcome.minY(), outcome.maxX(), outcome.maxY()) > self) {
+            return null;
+        }
+        Position end = new Position(outcome.x(), outcome.y());
+        if (!end.equals(start)) {
+            if (!repository.tryRelocate(robot, start, end)) {
+                return null;
+            }
+            robot.setPosition(end);
+            waitQueues.signal(CellWaitQueues.cellKey(start.x(), start.y()));
+        }
+        robot.setDirection(outcome.direction());
+        log.debug("Replayed cached outcome, robot moved to {}", end);
+        return new ExecutionResult(outcome.x(), outcome.y(), outcome.direction(), commands.length(),
+                FailureCode.NONE, -1);
+    }
+
+    /**
+     * Executes a single command and reports whether it could be applied.
+     */
+    private FailureCode executeCommand(Robot robot, char command) {
+        return switch (command) {
+            case 'F' -> moveForward(robot);
+            case 'L' -> {
+                turnLeft(robot);
+                yield FailureCode.NONE;
+            }
+            case 'R' -> {
+                turnRight(robot);
+                yield FailureCode.NONE;
+            }
+            default -> {
+                log.debug("Invalid command encountered: {}", command);
+                yield FailureCode.INVALID_COMMAND;
+            }
+        };
+    }
+
+    /**
+     * Checks if a failure may clear up by itself as other robots move: a blocked cell or a full zone.
+     */
+    private static boolean isTransient(FailureCode failure) {
+        return failure == FailureCode.COLLISION || failure == FailureCode.ZONE_FULL;
+    }
+
+    /**
+     * Parks the robot on the wait queue of its blocked cell or full zone and retries the move
+     * whenever it is woken, until the move succeeds, fails for another reason, the wait times
+     * out, or the deadlock detector picks the robot as a victim. The blocked move was already
+     * reported to listeners, so retries that find the same obstacle report nothing.
+     */
+    private FailureCode awaitFreeCell(Robot robot, FailureCode initialFailure) {
+        // Measuring elapsed time rather than comparing to a deadline cannot overflow
+        long start = System.nanoTime();
+        FailureCode failure = initialFailure;
+        while (isTransient(failure)) {
+            FailureCode awaited = failure;
+            CellWaitQueues.Waiter waiter = waitQueues.enqueue(robot, waitKey(robot, awaited));
+            try {
+                while (true) {
+                    // Clear the wake-up before retrying, so a place freed after the retry wakes us
+                    // again; retrying after enqueueing means a robot leaving in between is not missed
+                    waiter.clearSignal();
+                    failure = moveForward(robot, awaited);
+                    if (failure != awaited) {
+                        break;
+                    }
+                    if (waiter.isVictim()) {
+                        return FailureCode.DEADLOCK;
+                    }
+                    long remaining = waitTimeoutNanos - (System.nanoTime() - start);
+                    if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+                        return failure;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                }
+            } finally {
+                waitQueues.dequeue(waiter, failure == FailureCode.NONE);
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * Returns the wait queue key for a blocked move: its target cell, or the zone that is full.
+     */
+    private long waitKey(Robot robot, FailureCode failure) {
+        int x = robot.getPosition().x() + robot.getDirection().dx();
+        int y = robot.getPosition().y() + robot.getDirection().dy();
+        return failure == FailureCode.ZONE_FULL
+                ? CellWaitQueues.zoneKey(room.zones().zoneAt(x, y))
+                : CellWaitQueues.cellKey(x, y);
     }
 
     /**
      * Moves the robot one step forward in its current direction.
+     * The target is computed on plain coordinates so that boundary violations, including
+     * negative coordinates, never need a {@link Position}. Zone rules are checked after the
+     * cheap occupancy check, since admission into a capacity-limited zone reserves a place in
+     * it; the move itself then claims the target cell atomically and wakes robots waiting for
+     * the cell or zone it left.
      */
-    private void moveForward(Robot robot) {
-        Position newPosition = calculateNewPosition(robot);
-        validatePosition(newPosition);
-        checkCollision(newPosition);
+    private FailureCode moveForward(Robot robot) {
+        return moveForward(robot, FailureCode.NONE);
+    }
+
+    /**
+     * Moves the robot one step forward, staying quiet about the given failure: a retry of a
+     * blocked move checks the cell without events and does not report the same obstacle to
+     * listeners again.
+     */
+    private FailureCode moveForward(Robot robot, FailureCode quietFailure) {
+        boolean retry = quietFailure != FailureCode.NONE;
+        MoveEvent event = retry ? null : MoveEvent.start();
+        Position oldPosition = robot.getPosition();
+        int x = oldPosition.x() + robot.getDirection().dx();
+        int y = oldPosition.y() + robot.getDirection().dy();
+        if (!isWithinRoom(x, y)) {
+            log.debug("Robot attempted to move out of bounds to position: ({}, {})", x, y);
+            for (SimulationListener listener : listeners) {
+                listener.onOutOfBounds(robot, x, y);
+            }
+            return commitMove(event, robot, oldPosition, x, y, FailureCode.OUT_OF_BOUNDS);
+        }
+        if (quietFailure == FailureCode.COLLISION ? repository.isOccupied(x, y) : isOccupied(robot, x, y)) {
+            if (quietFailure != FailureCode.COLLISION) {
+                notifyCollision(robot, x, y);
+            }
+            return commitMove(event, robot, oldPosition, x, y, FailureCode.COLLISION);
+        }
+        ZoneMap zones = room.zones();
+        int fromZone = zones.zoneAt(oldPosition.x(), oldPosition.y());
+        int toZone = zones.zoneAt(x, y);
+        if (toZone >= 0) {
+            FailureCode violation = checkZone(robot, zones.zone(toZone), toZone, toZone != fromZone);
+            if (violation != FailureCode.NONE) {
+                log.debug("Zone {} rejected move to position: ({}, {})", zones.zone(toZone).name(), x, y);
+                if (!listeners.isEmpty() && violation != quietFailure) {
+                    Position target = new Position(x, y);
+                    for (SimulationListener listener : listeners) {
+                        listener.onZoneViolation(robot, target, zones.zone(toZone), violation);
+                    }
+                }
+                return commitMove(event, robot, oldPosition, x, y, violation);
+            }
+        }
+        Position newPosition = new Position(x, y);
+        if (!repository.tryRelocate(robot, oldPosition, newPosition)) {
+            // Another robot claimed the cell since the check; give back the zone admission
+            if (toZone >= 0 && toZone != fromZone) {
+                repository.leaveZone(toZone);
+            }
+            if (quietFailure != FailureCode.COLLISION) {
+                notifyCollision(robot, x, y);
+            }
+            return commitMove(event, robot, oldPosition, x, y, FailureCode.COLLISION);
+        }
         robot.setPosition(newPosition);
+        waitQueues.signal(CellWaitQueues.cellKey(oldPosition.x(), oldPosition.y()));
+        if (fromZone >= 0 && fromZone != toZone) {
+            repository.leaveZone(fromZone);
+            waitQueues.signal(CellWaitQueues.zoneKey(fromZone));
+        }
         log.debug("Robot moved to position: {}", newPosition);
+        for (SimulationListener listener : listeners) {
+            listener.onMove(robot, oldPosition, newPosition);
+        }
+        return commitMove(event, robot, oldPosition, x, y, FailureCode.NONE);
     }
 
     /**
-     * Calculates the new position based on current position and direction.
+     * Reports a move blocked by another robot.
      */
-    private Position calculateNewPosition(Robot robot) {
-        // Calculate new position based on current direction
-        return switch (robot.getDirection()) {
-            case NORTH -> new Position(robot.getPosition().x(), robot.getPosition().y() + 1);
-            case EAST -> new Position(robot.getPosition().x() + 1, robot.getPosition().y());
-            case SOUTH -> new Position(robot.getPosition().x(), robot.getPosition().y() - 1);
-            case WEST -> new Position(robot.getPosition().x() - 1, robot.getPosition().y());
-        };
+    private void notifyCollision(Robot robot, int x, int y) {
+        log.debug("Collision detected at position: ({}, {})", x, y);
+        if (!listeners.isEmpty()) {
+            Position target = new Position(x, y);
+            for (SimulationListener listener : listeners) {
+                listener.onCollision(robot, target);
+            }
+        }
     }
 
     /**
-     * Validates if the position is within room boundaries.
-     *
-     * @throws RobotOutOfBoundsException if position is outside room boundaries
+     * Applies the rules of the zone a move leads into. Forbidden zones reject every move into
+     * them; entry direction and capacity only apply when the robot comes from outside the zone.
+     * A successful entry is counted against the zone's capacity by the repository.
      */
-    private void validatePosition(Position position) {
-        if (position.x() < 0 || position.x() >= room.width() ||
-                position.y() < 0 || position.y() >= room.height()) {
-            log.warn("Robot attempted to move out of bounds to position: {}", position);
-            throw new RobotOutOfBoundsException("Position out of bounds: " + position);
+    private FailureCode checkZone(Robot robot, Zone zone, int zoneId, boolean entering) {
+        if (zone.forbidden()) {
+            return FailureCode.ZONE_FORBIDDEN;
+        }
+        if (!entering) {
+            return FailureCode.NONE;
+        }
+        if (!zone.allowsEntry(robot.getDirection())) {
+            return FailureCode.ZONE_ENTRY_DIRECTION;
         }
+        return repository.tryEnterZone(zoneId) ? FailureCode.NONE : FailureCode.ZONE_FULL;
     }
 
     /**
-     * Checks if moving to the new position would result in a collision.
-     *
-     * @throws RobotCollisionException if a collision would occur at the new position
+     * Checks the target cell of a move for other robots.
+     */
+    private boolean isOccupied(Robot robot, int x, int y) {
+        CollisionCheckEvent event = CollisionCheckEvent.start();
+        boolean occupied = repository.isOccupied(x, y);
+        if (event != null && event.shouldCommit()) {
+            event.setRobotId(robot.getId());
+            event.setX(x);
+            event.setY(y);
+            event.setOccupied(occupied);
+            event.commit();
+        }
+        return occupied;
+    }
+
+    /**
+     * Commits the move event if it is recorded and passes the outcome through.
      */
-    private void checkCollision(Position newPosition) {
-        if (repository.findAll().values().stream()
-                .anyMatch(robot -> robot.getPosition().equals(newPosition))) {
-            log.warn("Collision detected at position: {}", newPosition);
-            throw new RobotCollisionException("Collision detected at position " + newPosition);
+    private static FailureCode commitMove(MoveEvent event, Robot robot, Position from, int x, int y,
+                                          FailureCode outcome) {
+        if (event != null && event.shouldCommit()) {
+            event.setRobotId(robot.getId());
+            event.setFromX(from.x());
+            event.setFromY(from.y());
+            event.setToX(x);
+            event.setToY(y);
+            event.setOutcome(outcome.name());
+            event.commit();
         }
+        return outcome;
+    }
+
+    /**
+     * Checks if the coordinates are within room boundaries.
+     */
+    private boolean isWithinRoom(int x, int y) {
+        return x >= 0 && x < room.width() && y >= 0 && y < room.height();
+    }
+
+    /**
+     * Formats coordinates like {@link Position#toString()}, including coordinates that a
+     * {@link Position} cannot represent.
+     */
+    private static String formatPosition(int x, int y) {
+        return "Position[x=" + x + ", y=" + y + "]";
     }
 
     /**
      * Rotates the robot 90 degrees to the left.
      */
     private void turnLeft(Robot robot) {
+        TurnEvent event = TurnEvent.start();
         Direction oldDirection = robot.getDirection();
         robot.setDirection(switch (oldDirection) {
             case NORTH -> Direction.WEST;
@@ -117,12 +624,17 @@ public class SimulationService {
             case EAST -> Direction.NORTH;
         });
         log.debug("Robot turned left from {} to {}", oldDirection, robot.getDirection());
+        for (SimulationListener listener : listeners) {
+            listener.onTurn(robot, oldDirection, robot.getDirection());
+        }
+        commitTurn(event, robot, oldDirection);
     }
 
     /**
      * Rotates the robot 90 degrees to the right.
      */
     private void turnRight(Robot robot) {
+        TurnEvent event = TurnEvent.start();
         Direction oldDirection = robot.getDirection();
         robot.setDirection(switch (oldDirection) {
             case NORTH -> Direction.EAST;
@@ -131,5 +643,48 @@ public class SimulationService {
             case WEST -> Direction.NORTH;
         });
         log.debug("Robot turned right from {} to {}", oldDirection, robot.getDirection());
+        for (SimulationListener listener : listeners) {
+            listener.onTurn(robot, oldDirection, robot.getDirection());
+        }
+        commitTurn(event, robot, oldDirection);
+    }
+
+    /**
+     * Commits the turn event if it is recorded.
+     */
+    private static void commitTurn(TurnEvent event, Robot robot, Direction from) {
+        if (event != null && event.shouldCommit()) {
+            event.setRobotId(robot.getId());
+            event.setFrom(from.name());
+            event.setTo(robot.getDirection().name());
+            event.commit();
+        }
+    }
+
+    /**
+     * Bounding box of the cells a program visits, collected while it runs so that a
+     * successful run can be cached without walking the program a second time.
+     */
+    private static final class SweptArea {
+        private int minX;
+        private int minY;
+        private int maxX;
+        private int maxY;
+
+        SweptArea(Position start) {
+            minX = maxX = start.x();
+            minY = maxY = start.y();
+        }
+
+        void add(Position position) {
+            minX = Math.min(minX, position.x());
+            minY = Math.min(minY, position.y());
+            maxX = Math.max(maxX, position.x());
+            maxY = Math.max(maxY, position.y());
+        }
+
+        ProgramOutcome toOutcome(ExecutionResult result) {
+            return new ProgramOutcome(result.x(), result.y(), result.direction(), minX, minY, maxX, maxY);
+        }
     }
 }
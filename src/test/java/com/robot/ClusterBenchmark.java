@@ -0,0 +1,133 @@
+package com.robot;
+
+import ch.qos.logback.classic.Level;
+import com.robot.cluster.ClusterLauncher;
+import com.robot.cluster.ClusterRobot;
+import com.robot.cluster.FleetFile;
+import com.robot.cluster.PartitionNode;
+import com.robot.cluster.PortDirectory;
+import com.robot.domain.Direction;
+import com.robot.domain.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures how a partitioned run scales with the number of nodes. Not run as part of the test suite.
+ * Nodes run on threads of this JVM by default, talking over loopback TCP exactly like separate
+ * processes; pass {@code processes} to start one JVM per node through {@link ClusterLauncher}.
+ * Usage: {@code java -cp <classpath> com.robot.ClusterBenchmark [robots] [ticks] [threads|processes]}
+ */
+public class ClusterBenchmark {
+    private static final int[] NODES = {1, 2, 4};
+
+    public static void main(String[] args) throws Exception {
+        int robots = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        boolean processes = args.length > 2 && args[2].equals("processes");
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        Room room = new Room(1000, 1000);
+        List<ClusterRobot> fleet = randomFleet(room, robots, ticks, new Random(1));
+        System.out.printf("%d robots, %d ticks, %d cores, nodes as %s%n", robots, ticks,
+                Runtime.getRuntime().availableProcessors(), processes ? "processes" : "threads");
+
+        for (int round = 0; round < 3; round++) {
+            double single = 0;
+            for (int nodes : NODES) {
+                double millis = processes ? runOnProcesses(room, nodes, fleet, ticks) : runOnThreads(room, nodes, fleet, ticks);
+                if (nodes == 1) {
+                    single = millis;
+                }
+                System.out.printf("%d node(s): %.0f ms, speedup %.2fx%n", nodes, millis, single / millis);
+            }
+        }
+    }
+
+    private static double runOnThreads(Room room, int nodes, List<ClusterRobot> fleet, int ticks) throws Exception {
+        PortDirectory ports = PortDirectory.local(nodes);
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            List<PartitionNode> partitions = new ArrayList<>();
+            for (int node = 0; node < nodes; node++) {
+                PartitionNode partition = new PartitionNode(room, node, nodes);
+                partition.load(fleet);
+                partitions.add(partition);
+            }
+            List<Future<?>> connected = new ArrayList<>();
+            for (PartitionNode partition : partitions) {
+                connected.add(executor.submit(() -> {
+                    partition.connect(ports);
+                    return null;
+                }));
+            }
+            for (Future<?> future : connected) {
+                future.get();
+            }
+
+            long start = System.nanoTime();
+            List<Future<?>> runs = new ArrayList<>();
+            for (PartitionNode partition : partitions) {
+                runs.add(executor.submit(() -> {
+                    partition.run(ticks);
+                    return null;
+                }));
+            }
+            for (Future<?> future : runs) {
+                future.get();
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+            for (PartitionNode partition : partitions) {
+                partition.close();
+            }
+            return millis;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double runOnProcesses(Room room, int nodes, List<ClusterRobot> fleet, int ticks) throws Exception {
+        Path dir = Files.createTempDirectory("cluster-benchmark");
+        Path input = dir.resolve("fleet.txt");
+        Path output = dir.resolve("out.txt");
+        try {
+            FleetFile.write(input, fleet);
+            long start = System.nanoTime();
+            ClusterLauncher.run(nodes, room.width(), room.height(), ticks, input, output);
+            return (System.nanoTime() - start) / 1e6;
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+            Files.delete(dir);
+        }
+    }
+
+    private static List<ClusterRobot> randomFleet(Room room, int count, int programLength, Random random) {
+        Set<Long> cells = new HashSet<>();
+        List<ClusterRobot> fleet = new ArrayList<>();
+        String commands = "FFFLR";
+        while (fleet.size() < count) {
+            int x = random.nextInt(room.width());
+            int y = random.nextInt(room.height());
+            if (!cells.add(((long) x << 32) | y)) {
+                continue;
+            }
+            StringBuilder program = new StringBuilder();
+            for (int i = 0; i < programLength; i++) {
+                program.append(commands.charAt(random.nextInt(commands.length())));
+            }
+            fleet.add(new ClusterRobot(fleet.size(), x, y, Direction.values()[random.nextInt(4)], program.toString()));
+        }
+        return fleet;
+    }
+}
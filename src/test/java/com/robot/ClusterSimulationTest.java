@@ -0,0 +1,171 @@
+package com.robot;
+
+import com.robot.cluster.ClusterLauncher;
+import com.robot.cluster.ClusterRobot;
+import com.robot.cluster.FleetFile;
+import com.robot.cluster.PartitionNode;
+import com.robot.cluster.PortDirectory;
+import com.robot.domain.Direction;
+import com.robot.domain.Room;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterSimulationTest {
+
+    @Test
+    @DisplayName("Robots from two bands contending for a border cell resolve by ID")
+    void run_BorderContention_LowerIdWins() throws Exception {
+        Room room = new Room(3, 6);
+        // Band 0 owns rows 0-2 and band 1 rows 3-5; both robots target (1, 3)
+        List<ClusterRobot> fleet = List.of(
+                new ClusterRobot(4, 1, 2, Direction.NORTH, "FF"),
+                new ClusterRobot(2, 0, 3, Direction.EAST, "F"));
+
+        List<ClusterRobot> result = runOnThreads(room, 2, fleet, 2);
+
+        assertEquals(List.of(
+                new ClusterRobot(2, 1, 3, Direction.EAST, "F"),
+                new ClusterRobot(4, 1, 2, Direction.NORTH, "FF")), result);
+    }
+
+    @Test
+    @DisplayName("A three-node run over sockets matches a single-node run")
+    void run_RandomFleet_PartitionedMatchesSingleNode() throws Exception {
+        Room room = new Room(40, 30);
+        List<ClusterRobot> fleet = randomFleet(room, 300, 60, new Random(11));
+
+        List<ClusterRobot> single = runOnThreads(room, 1, fleet, 60);
+        List<ClusterRobot> partitioned = runOnThreads(room, 3, fleet, 60);
+
+        assertEquals(single, partitioned);
+        assertEquals(fleet.size(), partitioned.size());
+        Set<Long> cells = new HashSet<>();
+        for (ClusterRobot robot : partitioned) {
+            assertTrue(cells.add(((long) robot.x() << 32) | robot.y()), "Two robots share a cell");
+        }
+    }
+
+    @Test
+    @DisplayName("Launching one process per band gives the same fleet as a single node")
+    void run_SeparateProcesses_MatchesSingleNode(@TempDir Path dir) throws Exception {
+        Room room = new Room(20, 12);
+        List<ClusterRobot> fleet = randomFleet(room, 60, 20, new Random(5));
+        Path input = dir.resolve("fleet.txt");
+        FleetFile.write(input, fleet);
+
+        List<ClusterRobot> result = ClusterLauncher.run(2, room.width(), room.height(), 20, input, dir.resolve("out.txt"));
+
+        assertEquals(runOnThreads(room, 1, fleet, 20), result);
+        assertEquals(result, FleetFile.read(dir.resolve("out.txt")));
+    }
+
+    @Test
+    @DisplayName("A failing node fails the whole run instead of leaving its neighbours waiting")
+    void run_NodeFails_ThrowsException(@TempDir Path dir) {
+        Path missing = dir.resolve("missing.txt");
+
+        IOException exception = assertThrows(IOException.class, () -> ClusterLauncher.run(2, 20, 12, 20, missing,
+                dir.resolve("out.txt"), Duration.ofMinutes(1)));
+
+        assertTrue(exception.getMessage().contains("exited"), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Rooms too short for the requested bands are rejected")
+    void constructor_ThinBands_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new PartitionNode(new Room(10, 5), 0, 2));
+    }
+
+    @Test
+    @DisplayName("Robots outside every band are rejected instead of dropped")
+    void load_RobotOutsideRoom_ThrowsException() throws IOException {
+        Room room = new Room(10, 6);
+        List<ClusterRobot> fleet = List.of(
+                new ClusterRobot(0, 1, 1, Direction.NORTH, "F"),
+                new ClusterRobot(1, 2, 6, Direction.NORTH, "F"));
+
+        for (int node = 0; node < 2; node++) {
+            try (PartitionNode partition = new PartitionNode(room, node, 2)) {
+                assertThrows(IllegalArgumentException.class, () -> partition.load(fleet));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Two robots starting in the same cell are rejected")
+    void load_DuplicateStartCell_ThrowsException() throws IOException {
+        List<ClusterRobot> fleet = List.of(
+                new ClusterRobot(0, 3, 4, Direction.NORTH, "F"),
+                new ClusterRobot(1, 3, 4, Direction.EAST, "F"));
+
+        try (PartitionNode partition = new PartitionNode(new Room(10, 6), 0, 2)) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> partition.load(fleet));
+            assertTrue(exception.getMessage().contains("(3, 4)"), exception.getMessage());
+        }
+    }
+
+    private static List<ClusterRobot> runOnThreads(Room room, int nodes, List<ClusterRobot> fleet, int ticks)
+            throws Exception {
+        PortDirectory ports = PortDirectory.local(nodes);
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            List<Future<List<ClusterRobot>>> results = new ArrayList<>();
+            for (int node = 0; node < nodes; node++) {
+                int index = node;
+                results.add(executor.submit(() -> {
+                    try (PartitionNode partition = new PartitionNode(room, index, nodes)) {
+                        partition.load(fleet);
+                        partition.connect(ports);
+                        partition.run(ticks);
+                        return partition.robots();
+                    }
+                }));
+            }
+            List<ClusterRobot> robots = new ArrayList<>();
+            for (Future<List<ClusterRobot>> result : results) {
+                robots.addAll(result.get());
+            }
+            robots.sort(Comparator.comparingInt(ClusterRobot::id));
+            return robots;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<ClusterRobot> randomFleet(Room room, int count, int programLength, Random random) {
+        Set<Long> cells = new HashSet<>();
+        List<ClusterRobot> fleet = new ArrayList<>();
+        String commands = "FFFLR";
+        while (fleet.size() < count) {
+            int x = random.nextInt(room.width());
+            int y = random.nextInt(room.height());
+            if (!cells.add(((long) x << 32) | y)) {
+                continue;
+            }
+            StringBuilder program = new StringBuilder();
+            for (int i = 0; i < programLength; i++) {
+                program.append(commands.charAt(random.nextInt(commands.length())));
+            }
+            fleet.add(new ClusterRobot(fleet.size(), x, y, Direction.values()[random.nextInt(4)], program.toString()));
+        }
+        return fleet;
+    }
+}
@@ -0,0 +1,45 @@
+package com.robot;
+
+import ch.qos.logback.classic.Level;
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Room;
+import com.robot.planning.ConflictChecker;
+import com.robot.planning.RobotProgram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the conflict pre-check on a large fleet. Not run as part of the test suite.
+ * Usage: {@code java -cp <classpath> com.robot.ConflictCheckerBenchmark [robots] [steps]}
+ */
+public class ConflictCheckerBenchmark {
+
+    public static void main(String[] args) {
+        int robots = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        // Every robot circles its own 5x5 block, so the fleet is busy but conflict free
+        int columns = 400;
+        Room room = new Room(columns * 5, (robots / columns + 1) * 5);
+        String program = "FFFFR".repeat(steps / 5);
+        List<RobotProgram> programs = new ArrayList<>();
+        for (int i = 0; i < robots; i++) {
+            programs.add(new RobotProgram("R" + i, new Position(i % columns * 5, i / columns * 5), Direction.NORTH, program));
+        }
+        ConflictChecker checker = new ConflictChecker(room);
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int conflicts = checker.check(programs).size();
+            System.out.printf("%d robots x %d steps on %d cores: %d ms, %d conflicts%n", robots, program.length(),
+                    Runtime.getRuntime().availableProcessors(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), conflicts);
+        }
+    }
+}
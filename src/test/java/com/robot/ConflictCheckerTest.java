@@ -0,0 +1,129 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Room;
+import com.robot.planning.Conflict;
+import com.robot.planning.ConflictChecker;
+import com.robot.planning.RobotProgram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConflictCheckerTest {
+    private ConflictChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        checker = new ConflictChecker(new Room(5, 5));
+    }
+
+    @Test
+    @DisplayName("Robots meeting in the same cell produce a vertex conflict")
+    void check_SameCellSameStep_VertexConflict() {
+        List<Conflict> conflicts = checker.check(List.of(
+                new RobotProgram("A", new Position(0, 2), Direction.EAST, "FF"),
+                new RobotProgram("B", new Position(4, 2), Direction.WEST, "FF")));
+
+        assertEquals(new Conflict(Conflict.Type.VERTEX, 2, "A", "B", 2, 2), conflicts.get(0));
+    }
+
+    @Test
+    @DisplayName("Robots exchanging cells produce a swap conflict")
+    void check_ExchangeCells_SwapConflict() {
+        List<Conflict> conflicts = checker.check(List.of(
+                new RobotProgram("A", new Position(1, 1), Direction.EAST, "F"),
+                new RobotProgram("B", new Position(2, 1), Direction.WEST, "F")));
+
+        assertEquals(List.of(new Conflict(Conflict.Type.SWAP, 1, "A", "B", 2, 1)), conflicts);
+    }
+
+    @Test
+    @DisplayName("Robots that stay together are reported once, when they meet")
+    void check_RobotsStayTogether_ReportedOnce() {
+        List<Conflict> conflicts = checker.check(List.of(
+                new RobotProgram("A", new Position(0, 2), Direction.EAST, "FF"),
+                new RobotProgram("B", new Position(4, 2), Direction.WEST, "FFLLLL")));
+
+        assertEquals(List.of(new Conflict(Conflict.Type.VERTEX, 2, "A", "B", 2, 2)), conflicts);
+    }
+
+    @Test
+    @DisplayName("A swap is found even when a third robot shares one of the cells")
+    void check_SwapWithThirdRobotInCell_SwapConflict() {
+        List<Conflict> conflicts = checker.check(List.of(
+                new RobotProgram("A", new Position(1, 1), Direction.EAST, "F"),
+                new RobotProgram("B", new Position(2, 1), Direction.WEST, "F"),
+                new RobotProgram("C", new Position(2, 1), Direction.NORTH, "R")));
+
+        assertEquals(List.of(
+                new Conflict(Conflict.Type.VERTEX, 0, "B", "C", 2, 1),
+                new Conflict(Conflict.Type.VERTEX, 1, "A", "C", 2, 1),
+                new Conflict(Conflict.Type.SWAP, 1, "A", "B", 2, 1)), conflicts);
+    }
+
+    @Test
+    @DisplayName("Every swap is reported when several robots cross the same edge, in any input order")
+    void check_CrowdCrossingEdge_EverySwapReported() {
+        RobotProgram a = new RobotProgram("A", new Position(0, 0), Direction.NORTH, "F");
+        RobotProgram b = new RobotProgram("B", new Position(0, 1), Direction.SOUTH, "F");
+        RobotProgram c = new RobotProgram("C", new Position(0, 0), Direction.NORTH, "F");
+
+        List<Conflict> expected = List.of(
+                new Conflict(Conflict.Type.VERTEX, 0, "A", "C", 0, 0),
+                new Conflict(Conflict.Type.SWAP, 1, "A", "B", 0, 1),
+                new Conflict(Conflict.Type.SWAP, 1, "C", "B", 0, 1));
+        for (int run = 0; run < 20; run++) {
+            assertEquals(expected, checker.check(List.of(a, c, b)));
+        }
+        assertEquals(List.of(
+                new Conflict(Conflict.Type.VERTEX, 0, "A", "C", 0, 0),
+                new Conflict(Conflict.Type.SWAP, 1, "B", "A", 0, 0),
+                new Conflict(Conflict.Type.SWAP, 1, "B", "C", 0, 0)), checker.check(List.of(b, a, c)));
+    }
+
+    @Test
+    @DisplayName("Boundary violations are reported with the failing step")
+    void check_LeavesRoom_OutOfBoundsConflict() {
+        List<Conflict> conflicts = checker.check(List.of(
+                new RobotProgram("A", new Position(0, 0), Direction.NORTH, "RRF")));
+
+        assertEquals(List.of(new Conflict(Conflict.Type.OUT_OF_BOUNDS, 3, "A", null, 0, -1)), conflicts);
+    }
+
+    @Test
+    @DisplayName("Finished robots keep blocking their final cell")
+    void check_FinishedRobotParked_VertexConflict() {
+        List<Conflict> conflicts = checker.check(List.of(
+                new RobotProgram("A", new Position(2, 0), Direction.NORTH, "F"),
+                new RobotProgram("B", new Position(0, 1), Direction.EAST, "LRFF")));
+
+        assertEquals(new Conflict(Conflict.Type.VERTEX, 4, "A", "B", 2, 1), conflicts.get(0));
+    }
+
+    @Test
+    @DisplayName("Independent robots in separate lanes are conflict free")
+    void check_ParallelLanes_NoConflicts() {
+        ConflictChecker large = new ConflictChecker(new Room(2_000, 500));
+        List<RobotProgram> programs = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            programs.add(new RobotProgram("R" + i, new Position(i, 0), Direction.NORTH, "F".repeat(250) + "LR".repeat(100)));
+        }
+
+        assertTrue(large.check(programs).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Unknown commands are rejected")
+    void program_InvalidCommand_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new RobotProgram("A", new Position(0, 0), Direction.NORTH, "FX"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Room;
+import com.robot.planning.ConflictChecker;
+import com.robot.planning.CooperativePlanner;
+import com.robot.planning.MultiAgentPlan;
+import com.robot.planning.PlanningTask;
+import com.robot.planning.RobotProgram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CooperativePlannerTest {
+
+    @Test
+    @DisplayName("Robots crossing a corridor head-on are routed around each other")
+    void plan_HeadOnCorridor_NoConflicts() {
+        Room room = new Room(5, 2);
+        List<PlanningTask> tasks = List.of(
+                new PlanningTask("A", new Position(0, 0), Direction.EAST, new Position(3, 0)),
+                new PlanningTask("B", new Position(4, 0), Direction.WEST, new Position(1, 0)));
+
+        MultiAgentPlan plan = new CooperativePlanner(room).plan(tasks);
+
+        assertTrue(plan.isComplete());
+        assertNoConflictsAndGoalsReached(room, tasks, plan);
+    }
+
+    @Test
+    @DisplayName("A crowded batch receives collision-free programs ending at every goal")
+    void plan_RandomBatch_NoConflicts() {
+        Room room = new Room(60, 60);
+        Random random = new Random(42);
+        Set<Position> starts = new HashSet<>();
+        Set<Position> goals = new HashSet<>();
+        List<PlanningTask> tasks = new ArrayList<>();
+        while (tasks.size() < 400) {
+            Position start = new Position(random.nextInt(60), random.nextInt(60));
+            Position goal = new Position(random.nextInt(60), random.nextInt(60));
+            if (!starts.contains(start) && !goals.contains(goal)) {
+                starts.add(start);
+                goals.add(goal);
+                Direction direction = Direction.values()[random.nextInt(4)];
+                tasks.add(new PlanningTask("R" + tasks.size(), start, direction, goal));
+            }
+        }
+
+        MultiAgentPlan plan = new CooperativePlanner(room).plan(tasks);
+
+        assertTrue(plan.isComplete());
+        assertNoConflictsAndGoalsReached(room, tasks, plan);
+    }
+
+    @Test
+    @DisplayName("Two robots starting in the same cell are rejected")
+    void plan_SharedStart_ThrowsException() {
+        CooperativePlanner planner = new CooperativePlanner(new Room(5, 5));
+        List<PlanningTask> tasks = List.of(
+                new PlanningTask("A", new Position(1, 1), Direction.NORTH, new Position(0, 0)),
+                new PlanningTask("B", new Position(1, 1), Direction.NORTH, new Position(4, 4)));
+
+        assertThrows(IllegalArgumentException.class, () -> planner.plan(tasks));
+    }
+
+    private static void assertNoConflictsAndGoalsReached(Room room, List<PlanningTask> tasks, MultiAgentPlan plan) {
+        List<RobotProgram> programs = new ArrayList<>();
+        for (PlanningTask task : tasks) {
+            programs.add(new RobotProgram(task.robotId(), task.start(), task.direction(),
+                    plan.programs().get(task.robotId())));
+        }
+        assertEquals(List.of(), new ConflictChecker(room).check(programs));
+
+        for (PlanningTask task : tasks) {
+            assertEquals(task.goal(), endPosition(task, plan.programs().get(task.robotId())), task.robotId());
+        }
+    }
+
+    private static Position endPosition(PlanningTask task, String program) {
+        int x = task.start().x();
+        int y = task.start().y();
+        int direction = task.direction().ordinal();
+        for (char command : program.toCharArray()) {
+            switch (command) {
+                case 'L' -> direction = (direction + 3) & 3;
+                case 'R' -> direction = (direction + 1) & 3;
+                default -> {
+                    x += Direction.values()[direction].dx();
+                    y += Direction.values()[direction].dy();
+                }
+            }
+        }
+        return new Position(x, y);
+    }
+}
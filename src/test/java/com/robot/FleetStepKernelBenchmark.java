@@ -0,0 +1,54 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Room;
+import com.robot.kernel.FleetStepKernel;
+import com.robot.kernel.PackedFleet;
+import com.robot.kernel.ScalarFleetStepKernel;
+import com.robot.kernel.VectorFleetStepKernel;
+
+import java.util.Random;
+
+/**
+ * Compares the scalar and vector fleet-step kernels. Not run as part of the test suite.
+ * Usage: {@code java --add-modules jdk.incubator.vector -cp <classpath> com.robot.FleetStepKernelBenchmark [robots] [ticks]}
+ */
+public class FleetStepKernelBenchmark {
+
+    public static void main(String[] args) {
+        int robots = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Room room = new Room(1000, 1000);
+        Random random = new Random(1);
+        int[] commands = new int[robots];
+        for (int i = 0; i < robots; i++) {
+            commands[i] = random.nextInt(3);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            double scalar = run(new ScalarFleetStepKernel(), robots, ticks, room, commands);
+            double vector = run(new VectorFleetStepKernel(), robots, ticks, room, commands);
+            System.out.printf("%d robots: scalar %.2f ms/tick, vector %.2f ms/tick, speedup %.1fx%n",
+                    robots, scalar, vector, scalar / vector);
+        }
+    }
+
+    private static double run(FleetStepKernel kernel, int robots, int ticks, Room room, int[] commands) {
+        PackedFleet fleet = new PackedFleet(robots);
+        Random random = new Random(2);
+        for (int i = 0; i < robots; i++) {
+            fleet.set(i, random.nextInt(room.width()), random.nextInt(room.height()),
+                    Direction.values()[random.nextInt(4)]);
+        }
+        boolean[] outOfBounds = new boolean[robots];
+        // Warm up so the timed ticks run compiled code
+        for (int tick = 0; tick < 20; tick++) {
+            kernel.step(fleet, commands, room, outOfBounds);
+        }
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            kernel.step(fleet, commands, room, outOfBounds);
+        }
+        return (System.nanoTime() - start) / 1e6 / ticks;
+    }
+}
@@ -0,0 +1,130 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.domain.Zone;
+import com.robot.kernel.FleetStepKernel;
+import com.robot.kernel.PackedFleet;
+import com.robot.kernel.ScalarFleetStepKernel;
+import com.robot.kernel.VectorFleetStepKernel;
+import com.robot.repository.RobotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The vector kernel is only exercised when the tests run with the Vector API, i.e. {@code mvn test -Pvector}.
+ */
+class FleetStepKernelTest {
+    private static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    @Test
+    @DisplayName("One tick moves, turns and flags boundary hits like the simulation")
+    void step_MixedCommands_MatchesSimulationRules() {
+        Room room = new Room(5, 5);
+        Robot mover = new Robot(new Position(2, 2), Direction.EAST);
+        Robot blocked = new Robot(new Position(0, 0), Direction.SOUTH);
+        Robot turner = new Robot(new Position(4, 4), Direction.NORTH);
+        List<Robot> robots = List.of(mover, blocked, turner);
+        PackedFleet fleet = PackedFleet.of(robots);
+        int[] commands = {FleetStepKernel.encode('F'), FleetStepKernel.encode('F'), FleetStepKernel.encode('L')};
+        boolean[] outOfBounds = new boolean[3];
+
+        FleetStepKernel.create().step(fleet, commands, room, outOfBounds);
+        fleet.unpackInto(robots);
+
+        assertEquals(new Position(3, 2), mover.getPosition());
+        assertEquals(new Position(0, 0), blocked.getPosition());
+        assertEquals(Direction.WEST, turner.getDirection());
+        assertFalse(outOfBounds[0]);
+        assertTrue(outOfBounds[1]);
+        assertFalse(outOfBounds[2]);
+    }
+
+    @Test
+    @DisplayName("Unpacking into an indexed repository keeps its occupancy index and zone counts current")
+    void unpackInto_IndexedRepository_UpdatesIndexAndZones() {
+        Room room = new Room(5, 5).withZones(Zone.area("dock", 3, 0, 4, 4).withCapacity(2));
+        RobotRepository repository = new RobotRepository(room);
+        Robot entering = new Robot(new Position(2, 2), Direction.EAST);
+        Robot turning = new Robot(new Position(0, 0), Direction.NORTH);
+        repository.save(entering);
+        repository.save(turning);
+        List<Robot> robots = List.of(entering, turning);
+        PackedFleet fleet = PackedFleet.of(robots);
+
+        FleetStepKernel.create().step(fleet, new int[]{FleetStepKernel.FORWARD, FleetStepKernel.TURN_RIGHT},
+                room, new boolean[2]);
+        fleet.unpackInto(robots, repository);
+
+        assertEquals(new Position(3, 2), entering.getPosition());
+        assertTrue(repository.isOccupied(3, 2));
+        assertFalse(repository.isOccupied(2, 2));
+        assertTrue(repository.isOccupied(0, 0));
+        assertEquals(1, repository.zoneOccupancy(0));
+        assertEquals(Direction.EAST, turning.getDirection());
+    }
+
+    @Test
+    @DisplayName("Vector and scalar kernels produce identical fleets")
+    void step_RandomFleet_VectorMatchesScalar() {
+        assumeTrue(VECTOR_API, "jdk.incubator.vector not loaded");
+        Room room = new Room(64, 48);
+        Random random = new Random(7);
+        // Not a multiple of any vector length, so the scalar tail is exercised too
+        int size = 10_007;
+        PackedFleet scalarFleet = new PackedFleet(size);
+        PackedFleet vectorFleet = new PackedFleet(size);
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(room.width());
+            int y = random.nextInt(room.height());
+            Direction direction = Direction.values()[random.nextInt(4)];
+            scalarFleet.set(i, x, y, direction);
+            vectorFleet.set(i, x, y, direction);
+        }
+        FleetStepKernel scalar = new ScalarFleetStepKernel();
+        FleetStepKernel vector = new VectorFleetStepKernel();
+        int[] commands = new int[size];
+        boolean[] scalarMask = new boolean[size];
+        boolean[] vectorMask = new boolean[size];
+
+        for (int tick = 0; tick < 200; tick++) {
+            for (int i = 0; i < size; i++) {
+                commands[i] = random.nextInt(5);
+            }
+            scalar.step(scalarFleet, commands, room, scalarMask);
+            vector.step(vectorFleet, commands, room, vectorMask);
+            assertArrayEquals(scalarMask, vectorMask, "tick " + tick);
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals(scalarFleet.x(i), vectorFleet.x(i));
+            assertEquals(scalarFleet.y(i), vectorFleet.y(i));
+            assertEquals(scalarFleet.direction(i), vectorFleet.direction(i));
+        }
+    }
+
+    @Test
+    @DisplayName("The vector kernel is selected when the incubator module is present")
+    void create_VectorModuleAvailable_ReturnsVectorKernel() {
+        assumeTrue(VECTOR_API, "jdk.incubator.vector not loaded");
+        assertInstanceOf(VectorFleetStepKernel.class, FleetStepKernel.create());
+    }
+
+    @Test
+    @DisplayName("The scalar kernel is selected when the incubator module is missing")
+    void create_VectorModuleMissing_ReturnsScalarKernel() {
+        assumeTrue(!VECTOR_API, "jdk.incubator.vector loaded");
+        assertInstanceOf(ScalarFleetStepKernel.class, FleetStepKernel.create());
+    }
+}
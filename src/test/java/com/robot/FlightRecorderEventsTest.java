@@ -0,0 +1,104 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.monitoring.CommandExecutionEvent;
+import com.robot.monitoring.ExecutionStats;
+import com.robot.monitoring.JfrRecordingAnalyzer;
+import com.robot.monitoring.MoveEvent;
+import com.robot.monitoring.RepositoryOperationEvent;
+import com.robot.monitoring.RobotRecordingProfile;
+import com.robot.repository.RobotRepository;
+import com.robot.service.FailurePolicy;
+import com.robot.service.SimulationService;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FlightRecorderEventsTest {
+
+    @Test
+    @DisplayName("Every program, move, turn and collision check is recorded at a 100% sample rate")
+    void execute_FullSampling_RecordsEveryStep(@TempDir Path dir) throws Exception {
+        Room room = new Room(5, 5);
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        Robot mover = new Robot(new Position(0, 0), Direction.NORTH);
+        Robot blocker = new Robot(new Position(0, 2), Direction.SOUTH);
+        repository.save(mover);
+        repository.save(blocker);
+        Path file = dir.resolve("robots.jfr");
+
+        try (Recording recording = new Recording(RobotRecordingProfile.load())) {
+            recording.enable("com.robot.CommandExecution").withThreshold(Duration.ZERO);
+            for (String event : List.of("com.robot.Move", "com.robot.Turn", "com.robot.CollisionCheck")) {
+                recording.enable(event).with("sampleRate", "100%");
+            }
+            recording.start();
+            // Second move is blocked by the other robot, then the robot turns and moves east
+            service.execute(mover, "FFRF", FailurePolicy.SKIP);
+            service.execute(blocker, "L");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrRecordingAnalyzer analyzer = JfrRecordingAnalyzer.read(file);
+        Map<String, Long> counts = analyzer.eventCounts();
+        assertEquals(2L, counts.get("com.robot.CommandExecution"));
+        assertEquals(3L, counts.get("com.robot.Move"));
+        assertEquals(3L, counts.get("com.robot.CollisionCheck"));
+        assertEquals(2L, counts.get("com.robot.Turn"));
+
+        List<ExecutionStats> robots = analyzer.slowestRobots(10);
+        assertEquals(2, robots.size());
+        assertEquals(List.of(mover.getId(), blocker.getId()).stream().sorted().toList(),
+                robots.stream().map(ExecutionStats::key).sorted().toList());
+        assertEquals(1, analyzer.slowestPrograms(1).size());
+    }
+
+    @Test
+    @DisplayName("A 0% sample rate drops per-step events but keeps program executions")
+    void execute_ZeroSampling_RecordsOnlyExecutions(@TempDir Path dir) throws Exception {
+        Room room = new Room(5, 5);
+        RobotRepository repository = new RobotRepository();
+        SimulationService service = new SimulationService(repository, room);
+        Robot robot = new Robot(new Position(0, 0), Direction.NORTH);
+        repository.save(robot);
+        Path file = dir.resolve("robots.jfr");
+
+        try (Recording recording = new Recording(RobotRecordingProfile.load())) {
+            recording.enable("com.robot.CommandExecution").withThreshold(Duration.ZERO);
+            recording.enable("com.robot.Move").with("sampleRate", "0%");
+            recording.enable("com.robot.Turn").with("sampleRate", "0%");
+            recording.start();
+            service.execute(robot, "FRFLF");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, Long> counts = JfrRecordingAnalyzer.read(file).eventCounts();
+        assertEquals(1L, counts.get("com.robot.CommandExecution"));
+        assertFalse(counts.containsKey("com.robot.Move"));
+        assertFalse(counts.containsKey("com.robot.Turn"));
+    }
+
+    @Test
+    @DisplayName("Events are not created while no recording enables them")
+    void start_NoRecording_ReturnsNull() {
+        assertNull(MoveEvent.start());
+        assertNull(CommandExecutionEvent.start());
+        assertNull(RepositoryOperationEvent.start());
+    }
+}
@@ -0,0 +1,232 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.event.MovementEventPublisher;
+import com.robot.event.OverflowPolicy;
+import com.robot.event.RobotEvent;
+import com.robot.exception.RobotOutOfBoundsException;
+import com.robot.repository.RobotRepository;
+import com.robot.service.SimulationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MovementEventPublisherTest {
+    private SimulationService service;
+    private RobotRepository repository;
+    private MovementEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RobotRepository();
+        service = new SimulationService(repository, new Room(5, 5));
+        // Deliver on the calling thread so the assertions are deterministic
+        publisher = new MovementEventPublisher(Runnable::run, 16, OverflowPolicy.DROP_NEWEST);
+        service.addListener(publisher);
+    }
+
+    @Test
+    @DisplayName("Subscriber receives typed events in order")
+    void subscribe_UnboundedDemand_ReceivesAllEvents() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        Robot robot = new Robot(new Position(3, 4), Direction.EAST);
+        repository.save(robot);
+
+        service.executeCommands(robot, "FL");
+        assertThrows(RobotOutOfBoundsException.class, () -> service.executeCommands(robot, "F"));
+        publisher.close();
+
+        assertEquals(3, subscriber.events.size());
+        assertEquals(new Position(4, 4), ((RobotEvent.Moved) subscriber.events.get(0)).to());
+        assertEquals(Direction.NORTH, ((RobotEvent.Turned) subscriber.events.get(1)).to());
+        assertInstanceOf(RobotEvent.OutOfBounds.class, subscriber.events.get(2));
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("Slow subscriber drops events without stalling the simulation")
+    void subscribe_NoDemand_DropsNewest() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber, 4, OverflowPolicy.DROP_NEWEST);
+        Robot robot = new Robot(new Position(2, 2), Direction.NORTH);
+        repository.save(robot);
+
+        service.executeCommands(robot, "RRRRRRRR");
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(4, subscriber.events.size());
+        assertEquals(Direction.NORTH, ((RobotEvent.Turned) subscriber.events.get(0)).from());
+        assertEquals(4, publisher.getDroppedEventCount());
+    }
+
+    @Test
+    @DisplayName("Conflating subscriber keeps the latest overflowing event per robot")
+    void subscribe_Conflate_KeepsLatestPerRobot() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber, 2, OverflowPolicy.CONFLATE);
+        Robot robot = new Robot(new Position(0, 0), Direction.NORTH);
+        repository.save(robot);
+
+        service.executeCommands(robot, "FFFF");
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(3, subscriber.events.size());
+        assertEquals(new Position(0, 2), ((RobotEvent.Moved) subscriber.events.get(1)).to());
+        assertEquals(new Position(0, 4), ((RobotEvent.Moved) subscriber.events.get(2)).to());
+        assertEquals(1, publisher.getDroppedEventCount());
+    }
+
+    @Test
+    @DisplayName("Moving south or west from the room's edge publishes an out-of-bounds event")
+    void onOutOfBounds_SouthOrWestFromZero_PublishesEvent() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+        Robot south = new Robot(new Position(2, 0), Direction.SOUTH);
+        Robot west = new Robot(new Position(0, 2), Direction.WEST);
+        repository.save(south);
+        repository.save(west);
+
+        assertThrows(RobotOutOfBoundsException.class, () -> service.executeCommands(south, "F"));
+        assertThrows(RobotOutOfBoundsException.class, () -> service.executeCommands(west, "F"));
+
+        assertEquals(2, subscriber.events.size());
+        assertEquals(List.of(
+                new RobotEvent.OutOfBounds(south.getId(), 2, -1, subscriber.events.get(0).timestamp()),
+                new RobotEvent.OutOfBounds(west.getId(), -1, 2, subscriber.events.get(1).timestamp())),
+                subscriber.events);
+    }
+
+    @Test
+    @DisplayName("The default publisher delivers on its own thread, not the simulation thread")
+    void subscribe_DefaultExecutor_DeliversOffSimulationThread() throws InterruptedException {
+        MovementEventPublisher threaded = new MovementEventPublisher();
+        service.addListener(threaded);
+        CountDownLatch delivered = new CountDownLatch(1);
+        AtomicReference<Thread> deliveryThread = new AtomicReference<>();
+        threaded.subscribe(new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(RobotEvent item) {
+                deliveryThread.set(Thread.currentThread());
+                delivered.countDown();
+            }
+        });
+        Robot robot = new Robot(new Position(2, 2), Direction.NORTH);
+        repository.save(robot);
+
+        service.executeCommands(robot, "L");
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), deliveryThread.get());
+        threaded.close();
+    }
+
+    @Test
+    @DisplayName("A blocked subscriber does not make another subscriber drop events")
+    void subscribe_OneSubscriberBlocked_OtherReceivesAllEvents() throws InterruptedException {
+        MovementEventPublisher threaded = new MovementEventPublisher();
+        service.addListener(threaded);
+        CountDownLatch release = new CountDownLatch(1);
+        threaded.subscribe(new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(RobotEvent item) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 4, OverflowPolicy.DROP_NEWEST);
+        CountDownLatch received = new CountDownLatch(8);
+        threaded.subscribe(new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(RobotEvent item) {
+                received.countDown();
+            }
+        }, 4, OverflowPolicy.DROP_NEWEST);
+        Robot robot = new Robot(new Position(2, 2), Direction.NORTH);
+        repository.save(robot);
+
+        // Paced so that a subscriber draining on its own keeps up with a buffer of four
+        for (int i = 0; i < 8; i++) {
+            service.executeCommands(robot, "R");
+            Thread.sleep(20);
+        }
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        threaded.close();
+    }
+
+    @Test
+    @DisplayName("An invalid request is signalled as an error from the delivery thread")
+    void request_NonPositive_ErrorSignalledByDeliveryThread() throws InterruptedException {
+        MovementEventPublisher threaded = new MovementEventPublisher();
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicReference<Thread> errorThread = new AtomicReference<>();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0) {
+            @Override
+            public void onError(Throwable throwable) {
+                errorThread.set(Thread.currentThread());
+                failed.countDown();
+            }
+        };
+        threaded.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), errorThread.get());
+        assertEquals(0, threaded.getSubscriberCount());
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<RobotEvent> {
+        private final long initialDemand;
+        private final List<RobotEvent> events = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+
+        RecordingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(RobotEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.robot;
+
+import com.robot.cache.ProgramKey;
+import com.robot.cache.ProgramOutcome;
+import com.robot.cache.ProgramOutcomeCache;
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.exception.RobotCollisionException;
+import com.robot.repository.RobotRepository;
+import com.robot.service.ExecutionResult;
+import com.robot.service.SimulationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProgramOutcomeCacheTest {
+    private SimulationService service;
+    private RobotRepository repository;
+    private ProgramOutcomeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        Room room = new Room(10, 10);
+        repository = new RobotRepository(room);
+        service = new SimulationService(repository, room);
+        cache = new ProgramOutcomeCache(100);
+        service.setOutcomeCache(cache);
+    }
+
+    @Test
+    @DisplayName("Replayed programs end in the same pose as walked programs")
+    void execute_RepeatedProgram_ReplaysCachedOutcome() {
+        Robot robot = new Robot(new Position(1, 1), Direction.NORTH);
+        repository.save(robot);
+
+        ExecutionResult walked = service.execute(robot, "FFRFFL");
+        robot.setPosition(new Position(1, 1));
+        robot.setDirection(Direction.NORTH);
+        repository.save(robot);
+        ExecutionResult replayed = service.execute(robot, "FFRFFL");
+
+        assertEquals(walked, replayed);
+        assertEquals(new Position(3, 3), robot.getPosition());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.hitRate(), 1e-9);
+        assertTrue(repository.isOccupied(3, 3));
+        assertEquals(1, repository.countInArea(0, 0, 9, 9));
+    }
+
+    @Test
+    @DisplayName("A robot inside the swept area forces a step-by-step run")
+    void execute_RobotInSweptArea_DetectsCollision() {
+        Robot robot = new Robot(new Position(0, 0), Direction.NORTH);
+        repository.save(robot);
+        service.execute(robot, "FFF");
+        robot.setPosition(new Position(0, 0));
+        repository.save(robot);
+        repository.save(new Robot(new Position(0, 2), Direction.EAST));
+
+        assertThrows(RobotCollisionException.class, () -> service.executeCommands(robot, "FFF"));
+        assertEquals(new Position(0, 1), robot.getPosition());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent runs walk programs step by step even when their outcome is cached")
+    void executeConcurrently_CachedProgram_BypassesCache() {
+        Robot robot = new Robot(new Position(1, 1), Direction.NORTH);
+        repository.save(robot);
+        service.execute(robot, "FF");
+        robot.setPosition(new Position(1, 1));
+        repository.save(robot);
+        long lookups = cache.getHitCount() + cache.getMissCount();
+
+        ExecutionResult result = service.executeConcurrently(Map.of(robot, "FF")).get(robot);
+
+        assertTrue(result.isSuccess());
+        assertEquals(new Position(1, 3), robot.getPosition());
+        assertEquals(lookups, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Programs leaving the room are never cached")
+    void execute_ProgramLeavesRoom_NotCached() {
+        Robot robot = new Robot(new Position(0, 0), Direction.SOUTH);
+        repository.save(robot);
+
+        service.execute(robot, "F");
+        service.execute(robot, "F");
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Frequently replayed programs survive a stream of one-off programs")
+    void put_ScanOfOneOffPrograms_KeepsPopularEntries() {
+        ProgramOutcomeCache small = new ProgramOutcomeCache(50);
+        ProgramKey[] popular = new ProgramKey[20];
+        for (int i = 0; i < popular.length; i++) {
+            popular[i] = new ProgramKey(i, 0, Direction.NORTH, "F", 100, 100);
+            for (int access = 0; access < 5; access++) {
+                if (small.get(popular[i]) == null) {
+                    small.put(popular[i], trace(popular[i]));
+                }
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            small.get(popular[i % popular.length]);
+            ProgramKey oneOff = new ProgramKey(i % 100, 50, Direction.EAST, "FF" + "L".repeat(i % 7), 100, 100);
+            if (small.get(oneOff) == null) {
+                small.put(oneOff, trace(oneOff));
+            }
+        }
+
+        assertEquals(50, small.size());
+        assertTrue(small.getEvictionCount() > 0);
+        for (ProgramKey key : popular) {
+            assertNotNull(small.get(key), key.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent lookups and insertions keep the cache within its bound")
+    void getAndPut_ConcurrentThreads_StaysBounded() throws Exception {
+        ProgramOutcomeCache shared = new ProgramOutcomeCache(200);
+        int threads = 8;
+        int lookups = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Random random = new Random(t);
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < lookups; i++) {
+                        // Skewed keys: a few hot programs and a long tail
+                        int x = random.nextBoolean() ? random.nextInt(50) : random.nextInt(5_000);
+                        ProgramKey key = new ProgramKey(x, 0, Direction.NORTH, "F", 10_000, 10);
+                        if (shared.get(key) == null) {
+                            shared.put(key, trace(key));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(shared.size() <= 200, "Size " + shared.size());
+        assertEquals((long) threads * lookups, shared.getHitCount() + shared.getMissCount());
+        assertTrue(shared.hitRate() > 0.3, "Hit rate " + shared.hitRate());
+    }
+
+    /**
+     * Walks a program of L, R and F commands on an empty, unbounded floor.
+     */
+    private static ProgramOutcome trace(ProgramKey key) {
+        int x = key.x();
+        int y = key.y();
+        int minX = x;
+        int minY = y;
+        int maxX = x;
+        int maxY = y;
+        Direction direction = key.direction();
+        for (char command : key.program().toCharArray()) {
+            switch (command) {
+                case 'L' -> direction = direction.turnLeft();
+                case 'R' -> direction = direction.turnRight();
+                default -> {
+                    x += direction.dx();
+                    y += direction.dy();
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+        return new ProgramOutcome(x, y, direction, minX, minY, maxX, maxY);
+    }
+}
@@ -0,0 +1,191 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.monitoring.FleetSnapshot;
+import com.robot.monitoring.RobotState;
+import com.robot.monitoring.SharedWorldStateReader;
+import com.robot.monitoring.SharedWorldStateWriter;
+import com.robot.repository.RobotRepository;
+import com.robot.service.SimulationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedWorldStateTest {
+
+    @Test
+    @DisplayName("Observer reads the fleet state published by the simulation")
+    void snapshot_AfterMoves_ReflectsFleet(@TempDir Path dir) throws Exception {
+        Room room = new Room(5, 5);
+        RobotRepository repository = new RobotRepository();
+        SimulationService service = new SimulationService(repository, room);
+        Path file = dir.resolve("world.state");
+
+        try (SharedWorldStateWriter writer = new SharedWorldStateWriter(file, room, 16);
+             SharedWorldStateReader reader = new SharedWorldStateReader(file)) {
+            service.addListener(writer);
+            Robot robot1 = new Robot(new Position(0, 0), Direction.NORTH);
+            Robot robot2 = new Robot(new Position(4, 4), Direction.SOUTH);
+            repository.save(robot1);
+            repository.save(robot2);
+            writer.publishAll(repository);
+
+            service.executeCommands(robot1, "FRF");
+
+            FleetSnapshot snapshot = reader.snapshot();
+            assertTrue(snapshot.consistent());
+            assertEquals(2, snapshot.robots().size());
+            RobotState state = snapshot.robots().stream()
+                    .filter(r -> r.id().equals(robot1.getId())).findFirst().orElseThrow();
+            assertEquals(1, state.x());
+            assertEquals(1, state.y());
+            assertEquals(Direction.EAST, state.direction());
+        }
+    }
+
+    @Test
+    @DisplayName("Reader never observes a half-written pose")
+    void readSlot_ConcurrentWriter_NeverTorn(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("world.state");
+        Robot robot = new Robot(new Position(0, 0), Direction.NORTH);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        try (SharedWorldStateWriter writer = new SharedWorldStateWriter(file, new Room(1000, 1000), 1);
+             SharedWorldStateReader reader = new SharedWorldStateReader(file)) {
+            writer.publish(robot);
+            Thread simulator = Thread.ofPlatform().start(() -> {
+                for (int i = 0; running.get(); i = (i + 1) % 1000) {
+                    writer.onMove(robot, robot.getPosition(), new Position(i, i));
+                }
+            });
+            for (int i = 0; i < 100_000; i++) {
+                RobotState state = reader.readSlot(0);
+                assertEquals(state.x(), state.y());
+            }
+            running.set(false);
+            simulator.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent writers to one slot take turns instead of interleaving their stores")
+    void publish_ConcurrentWritersOnOneSlot_NeverTornOrLost(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("world.state");
+        Robot robot = new Robot(new Position(0, 0), Direction.NORTH);
+        int writes = 50_000;
+
+        try (SharedWorldStateWriter writer = new SharedWorldStateWriter(file, new Room(1000, 1000), 1);
+             SharedWorldStateReader reader = new SharedWorldStateReader(file)) {
+            writer.publish(robot);
+            // Moves on the simulation thread race publishAll-style updates from another thread
+            Thread mover = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < writes; i++) {
+                    writer.onMove(robot, robot.getPosition(), new Position(i % 500, i % 500));
+                }
+            });
+            Thread publisher = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < writes; i++) {
+                    writer.onMove(robot, robot.getPosition(), new Position(500 + i % 500, 500 + i % 500));
+                }
+            });
+            while (mover.isAlive() || publisher.isAlive()) {
+                RobotState state = reader.readSlot(0);
+                assertEquals(state.x(), state.y());
+            }
+            mover.join();
+            publisher.join();
+
+            assertEquals(2L * (2 * writes + 1), reader.readSlot(0).sequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Robots beyond the file's capacity are dropped without failing their moves")
+    void onMove_CapacityExceeded_DropsUpdate(@TempDir Path dir) throws Exception {
+        Room room = new Room(5, 5);
+        RobotRepository repository = new RobotRepository();
+        SimulationService service = new SimulationService(repository, room);
+        Path file = dir.resolve("world.state");
+
+        try (SharedWorldStateWriter writer = new SharedWorldStateWriter(file, room, 1);
+             SharedWorldStateReader reader = new SharedWorldStateReader(file)) {
+            service.addListener(writer);
+            Robot first = new Robot(new Position(0, 0), Direction.NORTH);
+            Robot second = new Robot(new Position(4, 0), Direction.NORTH);
+            repository.save(first);
+            repository.save(second);
+
+            service.executeCommands(first, "F");
+            service.executeCommands(second, "FF");
+
+            assertEquals(new Position(4, 2), second.getPosition());
+            assertEquals(2, writer.droppedCount());
+            assertEquals(1, reader.snapshot().robots().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Robots deleted from the repository disappear from the published fleet")
+    void publishAll_AfterDelete_RemovesRobot(@TempDir Path dir) throws Exception {
+        Room room = new Room(5, 5);
+        RobotRepository repository = new RobotRepository();
+        Path file = dir.resolve("world.state");
+
+        try (SharedWorldStateWriter writer = new SharedWorldStateWriter(file, room, 4);
+             SharedWorldStateReader reader = new SharedWorldStateReader(file)) {
+            Robot kept = new Robot(new Position(0, 0), Direction.NORTH);
+            Robot deleted = new Robot(new Position(1, 1), Direction.EAST);
+            repository.save(kept);
+            repository.save(deleted);
+            writer.publishAll(repository);
+
+            repository.delete(deleted.getId());
+            writer.publishAll(repository);
+
+            FleetSnapshot snapshot = reader.snapshot();
+            assertTrue(snapshot.consistent());
+            assertEquals(1, snapshot.robots().size());
+            assertEquals(kept.getId(), snapshot.robots().get(0).id());
+        }
+    }
+
+    @Test
+    @DisplayName("A slot left mid-update by a dead writer is reported instead of blocking the reader")
+    void snapshot_SlotLeftMidUpdate_ReportsInconsistent(@TempDir Path dir) throws Exception {
+        Room room = new Room(5, 5);
+        Path file = dir.resolve("world.state");
+
+        try (SharedWorldStateWriter writer = new SharedWorldStateWriter(file, room, 2);
+             SharedWorldStateReader reader = new SharedWorldStateReader(file)) {
+            writer.publish(new Robot(new Position(0, 0), Direction.NORTH));
+            writer.publish(new Robot(new Position(1, 1), Direction.EAST));
+            // An odd sequence in the first slot, as left by a writer killed between its two sequence writes
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 3), 64);
+            }
+
+            FleetSnapshot snapshot = assertTimeoutPreemptively(Duration.ofSeconds(5), reader::snapshot);
+
+            assertFalse(snapshot.consistent());
+            assertEquals(1, snapshot.robots().size());
+            assertNull(reader.readSlot(0));
+        }
+    }
+}
@@ -7,6 +7,9 @@ import com.robot.domain.Room;
 import com.robot.exception.RobotCollisionException;
 import com.robot.exception.RobotOutOfBoundsException;
 import com.robot.repository.RobotRepository;
+import com.robot.service.ExecutionResult;
+import com.robot.service.FailureCode;
+import com.robot.service.FailurePolicy;
 import com.robot.service.SimulationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,8 +19,11 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SimulationServiceTest {
     private static final Logger log = LoggerFactory.getLogger(SimulationServiceTest.class);
@@ -114,4 +120,78 @@ class SimulationServiceTest {
         assertEquals(new Position(4, 1), robot3.getPosition());
         assertEquals(Direction.NORTH, robot3.getDirection());
     }
+
+    @Test
+    @DisplayName("Moving south from the bottom row is reported as out of bounds")
+    void executeCommands_SouthFromBottomRow_ThrowsOutOfBounds() {
+        Robot robot = new Robot(new Position(1, 0), Direction.SOUTH);
+        repository.save(robot);
+        RobotOutOfBoundsException exception = assertThrows(RobotOutOfBoundsException.class, () ->
+                service.executeCommands(robot, "F"));
+        assertEquals("Position out of bounds: Position[x=1, y=-1]", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Result API reports a boundary hit without throwing")
+    void execute_BoundaryHit_ReturnsFailure() {
+        Robot robot = new Robot(new Position(0, 3), Direction.NORTH);
+        repository.save(robot);
+
+        ExecutionResult result = service.execute(robot, "FFRF");
+
+        assertEquals(new ExecutionResult(0, 4, Direction.NORTH, 1, FailureCode.OUT_OF_BOUNDS, 1), result);
+    }
+
+    @Test
+    @DisplayName("Skip policy continues after a blocked move")
+    void execute_SkipPolicy_ContinuesAfterCollision() {
+        Robot blocker = new Robot(new Position(2, 3), Direction.NORTH);
+        Robot robot = new Robot(new Position(2, 2), Direction.NORTH);
+        repository.save(blocker);
+        repository.save(robot);
+        service.setFailurePolicy(robot.getId(), FailurePolicy.SKIP);
+
+        ExecutionResult result = service.execute(robot, "FRF");
+
+        assertEquals(new ExecutionResult(3, 2, Direction.EAST, 2, FailureCode.COLLISION, 0), result);
+    }
+
+    @Test
+    @DisplayName("Wait policy gives up when the blocked cell stays occupied")
+    void execute_WaitPolicyTimeout_ReturnsCollision() {
+        Robot blocker = new Robot(new Position(2, 3), Direction.NORTH);
+        Robot robot = new Robot(new Position(2, 2), Direction.NORTH);
+        repository.save(blocker);
+        repository.save(robot);
+        service.setWaitTimeout(Duration.ofMillis(20));
+
+        ExecutionResult result = service.execute(robot, "F", FailurePolicy.WAIT);
+
+        assertEquals(FailureCode.COLLISION, result.failure());
+        assertEquals(new Position(2, 2), robot.getPosition());
+    }
+
+    @Test
+    @DisplayName("Wait policy continues once the blocking robot moves away")
+    void execute_WaitPolicyBlockerLeaves_Succeeds() throws InterruptedException {
+        Robot blocker = new Robot(new Position(2, 3), Direction.EAST);
+        Robot robot = new Robot(new Position(2, 2), Direction.NORTH);
+        repository.save(blocker);
+        repository.save(robot);
+        service.setWaitTimeout(Duration.ofSeconds(5));
+
+        Thread mover = Thread.ofPlatform().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            service.executeCommands(blocker, "F");
+        });
+        ExecutionResult result = service.execute(robot, "FF", FailurePolicy.WAIT);
+        mover.join();
+
+        assertTrue(result.isSuccess());
+        assertEquals(new Position(2, 4), robot.getPosition());
+    }
 }
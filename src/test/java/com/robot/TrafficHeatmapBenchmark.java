@@ -0,0 +1,77 @@
+package com.robot;
+
+import ch.qos.logback.classic.Level;
+import com.robot.analytics.TrafficHeatmap;
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.repository.RobotRepository;
+import com.robot.service.SimulationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures what recording a traffic heatmap adds to command execution. Not run as part of the
+ * test suite.
+ * Usage: {@code java -cp <classpath> com.robot.TrafficHeatmapBenchmark [robots] [rounds]}
+ */
+public class TrafficHeatmapBenchmark {
+
+    public static void main(String[] args) {
+        int robots = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Room room = new Room(200, 200);
+        // Debug logging of every command would dwarf both runs
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        for (int round = 0; round < 5; round++) {
+            double plain = run(room, null, robots, rounds);
+            double recorded = run(room, new TrafficHeatmap(room), robots, rounds);
+            System.out.printf("%d robots: without heatmap %.1f ns/command, with heatmap %.1f ns/command, overhead %.1f%%%n",
+                    robots, plain, recorded, (recorded / plain - 1) * 100);
+        }
+    }
+
+    /**
+     * Drives every robot around a square so it never leaves the room or meets another robot.
+     *
+     * @return Nanoseconds per executed command
+     */
+    private static double run(Room room, TrafficHeatmap heatmap, int robots, int rounds) {
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        if (heatmap != null) {
+            service.addListener(heatmap);
+        }
+        List<Robot> fleet = new ArrayList<>();
+        List<String> programs = new ArrayList<>();
+        for (int i = 0; i < robots; i++) {
+            Robot robot = new Robot(new Position((i % 50) * 4, (i / 50) * 4 + 1), Direction.NORTH);
+            repository.save(robot);
+            fleet.add(robot);
+            programs.add(("F".repeat(1 + i % 2) + "R").repeat(4));
+        }
+        int commandsPerRound = 0;
+        for (String program : programs) {
+            commandsPerRound += program.length();
+        }
+        for (int round = 0; round < rounds / 4; round++) {
+            executeAll(service, fleet, programs);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            executeAll(service, fleet, programs);
+        }
+        return (double) (System.nanoTime() - start) / rounds / commandsPerRound;
+    }
+
+    private static void executeAll(SimulationService service, List<Robot> fleet, List<String> programs) {
+        for (int i = 0; i < fleet.size(); i++) {
+            service.executeCommands(fleet.get(i), programs.get(i));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.robot;
+
+import com.robot.analytics.HeatmapSnapshot;
+import com.robot.analytics.TrafficHeatmap;
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.exception.RobotCollisionException;
+import com.robot.repository.RobotRepository;
+import com.robot.service.SimulationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrafficHeatmapTest {
+    private SimulationService service;
+    private RobotRepository repository;
+    private TrafficHeatmap heatmap;
+
+    @BeforeEach
+    void setUp() {
+        Room room = new Room(5, 5);
+        repository = new RobotRepository();
+        service = new SimulationService(repository, room);
+        heatmap = new TrafficHeatmap(room);
+        service.addListener(heatmap);
+    }
+
+    @Test
+    @DisplayName("Heatmap records moves and collisions from the simulation")
+    void snapshot_MovesAndCollision_Recorded() {
+        Robot robot1 = new Robot(new Position(0, 0), Direction.NORTH);
+        Robot robot2 = new Robot(new Position(0, 3), Direction.SOUTH);
+        repository.save(robot1);
+        repository.save(robot2);
+
+        service.executeCommands(robot1, "FF");
+        assertThrows(RobotCollisionException.class, () -> service.executeCommands(robot2, "F"));
+
+        HeatmapSnapshot snapshot = heatmap.snapshot();
+        assertEquals(1, snapshot.visits(0, 0));
+        assertEquals(1, snapshot.visits(0, 1));
+        assertEquals(1, snapshot.visits(0, 2));
+        assertEquals(1, snapshot.visits(0, 3));
+        assertEquals(1, snapshot.collisions(0, 2));
+        assertEquals(4, snapshot.totalVisits());
+        assertEquals(4.0 / 25, snapshot.coverage(), 1e-9);
+        assertEquals(new HeatmapSnapshot.CellCount(0, 2, 1, 1), snapshot.collisionHotspots(1).get(0));
+    }
+
+    @Test
+    @DisplayName("A robot's start cell counts as visited once, however many programs it runs")
+    void snapshot_RepeatedPrograms_StartCellCountedOnce() {
+        Robot robot = new Robot(new Position(2, 2), Direction.NORTH);
+        repository.save(robot);
+
+        service.executeCommands(robot, "LL");
+        service.executeCommands(robot, "LL");
+
+        HeatmapSnapshot snapshot = heatmap.snapshot();
+        assertEquals(1, snapshot.visits(2, 2));
+        assertEquals(1.0 / 25, snapshot.coverage(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Rooms whose single stripe would exceed 256 MB are refused")
+    void constructor_HugeRoom_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new TrafficHeatmap(new Room(5000, 5000)));
+    }
+
+    @Test
+    @DisplayName("Concurrent recording merges all stripes")
+    void snapshot_ConcurrentRecording_MergesCounts() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    heatmap.recordVisit(i % 5, 4);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        HeatmapSnapshot snapshot = heatmap.snapshot();
+        assertEquals(80_000, snapshot.totalVisits());
+        assertEquals(16_000, snapshot.visits(2, 4));
+    }
+
+    @Test
+    @DisplayName("Binary and CSV exports contain non-empty cells")
+    void export_BinaryAndCsv_RoundTrip(@TempDir Path dir) throws Exception {
+        heatmap.recordVisit(1, 2);
+        heatmap.recordVisit(1, 2);
+        heatmap.recordCollision(4, 4);
+        HeatmapSnapshot snapshot = heatmap.snapshot();
+
+        Path binary = dir.resolve("heatmap.bin");
+        snapshot.writeBinary(binary);
+        HeatmapSnapshot restored = HeatmapSnapshot.readBinary(binary);
+        assertEquals(2, restored.visits(1, 2));
+        assertEquals(1, restored.collisions(4, 4));
+
+        Path csv = dir.resolve("heatmap.csv");
+        snapshot.writeCsv(csv);
+        assertEquals(List.of("x,y,visits,collisions", "1,2,2,0", "4,4,0,1"), Files.readAllLines(csv));
+    }
+
+    @Test
+    @DisplayName("Corrupt binary files are rejected with an IOException")
+    void readBinary_CorruptFile_ThrowsIOException(@TempDir Path dir) throws Exception {
+        Path outsideCell = dir.resolve("outside.bin");
+        writeHeader(outsideCell, 5, 5, 1, 25);
+        Path negativeSize = dir.resolve("size.bin");
+        writeHeader(negativeSize, -5, 5, 0, 0);
+        Path tooManyCells = dir.resolve("cells.bin");
+        writeHeader(tooManyCells, 5, 5, 26, 0);
+        // Declares the largest allowed room but is too short for its cell count
+        Path truncated = dir.resolve("truncated.bin");
+        writeHeader(truncated, 4096, 4096, 3, 0);
+        Path hugeRoom = dir.resolve("huge.bin");
+        writeHeader(hugeRoom, 100_000, 100_000, 1, 0);
+
+        assertThrows(IOException.class, () -> HeatmapSnapshot.readBinary(outsideCell));
+        assertThrows(IOException.class, () -> HeatmapSnapshot.readBinary(negativeSize));
+        assertThrows(IOException.class, () -> HeatmapSnapshot.readBinary(tooManyCells));
+        assertThrows(IOException.class, () -> HeatmapSnapshot.readBinary(truncated));
+        assertThrows(IOException.class, () -> HeatmapSnapshot.readBinary(hugeRoom));
+    }
+
+    private static void writeHeader(Path file, int width, int height, int nonEmpty, int firstIndex) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(0x524D4150);
+            out.writeInt(1);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(nonEmpty);
+            out.writeInt(firstIndex);
+            out.writeLong(1);
+            out.writeLong(0);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.domain.Zone;
+import com.robot.repository.RobotRepository;
+import com.robot.service.DeadlockPolicy;
+import com.robot.service.ExecutionResult;
+import com.robot.service.FailureCode;
+import com.robot.service.FailurePolicy;
+import com.robot.service.SimulationListener;
+import com.robot.service.SimulationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaitForCellTest {
+    private static final Room CYCLE_ROOM = new Room(4, 4);
+
+    @Test
+    @DisplayName("A queue of waiting robots advances as each robot ahead moves on")
+    void executeConcurrently_WaitingColumn_AllRobotsAdvance() {
+        int count = 10_000;
+        Room room = new Room(1, count + 1);
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        service.setDefaultFailurePolicy(FailurePolicy.WAIT);
+        service.setWaitTimeout(Duration.ofSeconds(60));
+        Map<Robot, String> programs = new LinkedHashMap<>();
+        for (int y = 0; y < count; y++) {
+            Robot robot = new Robot(new Position(0, y), Direction.NORTH);
+            repository.save(robot);
+            programs.put(robot, "F");
+        }
+
+        Map<Robot, ExecutionResult> results = service.executeConcurrently(programs);
+
+        for (Map.Entry<Robot, ExecutionResult> entry : results.entrySet()) {
+            assertTrue(entry.getValue().isSuccess(), entry.getKey().getId());
+        }
+        assertEquals(count, repository.countInArea(0, 1, 0, count));
+    }
+
+    @Test
+    @DisplayName("An aborted victim fails every robot waiting behind it instead of leaving them to time out")
+    void executeConcurrently_CycleWithAbortPolicy_WholeChainAborts() {
+        RobotRepository repository = new RobotRepository(CYCLE_ROOM);
+        SimulationService service = cycleService(repository, DeadlockPolicy.ABORT_VICTIM, Duration.ofSeconds(30));
+        // A fifth robot queues behind the cycle from outside the square, submitted first so it
+        // is already waiting when the cycle is detected
+        Robot behind = new Robot(new Position(0, 2), Direction.EAST);
+        repository.save(behind);
+        Map<Robot, String> programs = new LinkedHashMap<>();
+        programs.put(behind, "F");
+        programs.putAll(cycle(repository, "F"));
+        long start = System.nanoTime();
+
+        List<ExecutionResult> results = List.copyOf(service.executeConcurrently(programs).values());
+
+        assertEquals(5, results.stream().filter(result -> result.failure() == FailureCode.DEADLOCK).count());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "Waited for the timeout");
+    }
+
+    @Test
+    @DisplayName("A victim skipping its blocked move lets the rest of the cycle proceed")
+    void executeConcurrently_CycleWithSkipPolicy_CycleResolves() {
+        RobotRepository repository = new RobotRepository(CYCLE_ROOM);
+        SimulationService service = cycleService(repository, DeadlockPolicy.SKIP_VICTIM_MOVE, Duration.ofSeconds(10));
+        // Each robot turns left out of the square after its first move
+        Map<Robot, String> programs = cycle(repository, "FLF");
+
+        Map<Robot, ExecutionResult> results = service.executeConcurrently(programs);
+
+        long victims = results.values().stream().filter(result -> result.failure() == FailureCode.DEADLOCK).count();
+        long succeeded = results.values().stream().filter(ExecutionResult::isSuccess).count();
+        assertEquals(1, victims);
+        assertEquals(3, succeeded);
+        Set<Position> positions = new HashSet<>();
+        for (Robot robot : results.keySet()) {
+            assertTrue(positions.add(robot.getPosition()), "Two robots share " + robot.getPosition());
+        }
+    }
+
+    @Test
+    @DisplayName("The deadlock detector thread stops once no robot is waiting")
+    void executeConcurrently_AfterWaits_DetectorStops() throws InterruptedException {
+        RobotRepository repository = new RobotRepository(CYCLE_ROOM);
+        SimulationService service = cycleService(repository, DeadlockPolicy.SKIP_VICTIM_MOVE, Duration.ofSeconds(10));
+
+        service.executeConcurrently(cycle(repository, "FLF"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (detectorThreads() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, detectorThreads());
+    }
+
+    @Test
+    @DisplayName("Robots racing into the same empty cell never end up sharing it")
+    void executeConcurrently_RaceForCell_OneRobotWins() {
+        for (int round = 0; round < 50; round++) {
+            Room room = new Room(3, 3);
+            RobotRepository repository = new RobotRepository(room);
+            SimulationService service = new SimulationService(repository, room);
+            Map<Robot, String> programs = new LinkedHashMap<>();
+            for (Robot robot : List.of(new Robot(new Position(1, 0), Direction.NORTH),
+                    new Robot(new Position(0, 1), Direction.EAST),
+                    new Robot(new Position(1, 2), Direction.SOUTH),
+                    new Robot(new Position(2, 1), Direction.WEST))) {
+                repository.save(robot);
+                programs.put(robot, "F");
+            }
+
+            Map<Robot, ExecutionResult> results = service.executeConcurrently(programs);
+
+            assertEquals(1, results.values().stream().filter(ExecutionResult::isSuccess).count());
+            assertEquals(1, repository.countInArea(1, 1, 1, 1));
+        }
+    }
+
+    @Test
+    @DisplayName("A blocked move that waits is reported to listeners once, however often it retries")
+    void execute_WaitTimesOut_ReportsCollisionOnce() {
+        Room room = new Room(3, 3);
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        service.setWaitTimeout(Duration.ofMillis(200));
+        AtomicInteger collisions = new AtomicInteger();
+        service.addListener(new SimulationListener() {
+            @Override
+            public void onCollision(Robot robot, Position target) {
+                collisions.incrementAndGet();
+            }
+        });
+        Robot waiting = new Robot(new Position(0, 0), Direction.NORTH);
+        repository.save(waiting);
+        repository.save(new Robot(new Position(0, 1), Direction.NORTH));
+
+        ExecutionResult result = service.execute(waiting, "F", FailurePolicy.WAIT);
+
+        assertEquals(FailureCode.COLLISION, result.failure());
+        assertEquals(1, collisions.get());
+    }
+
+    @Test
+    @DisplayName("Robots waiting for a full zone enter one by one as each place is freed")
+    void executeConcurrently_FullZone_WaitersEnterOneByOne() {
+        int count = 20;
+        Room room = new Room(5, count).withZones(Zone.area("gate", 2, 0, 2, count - 1).withCapacity(1));
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        service.setDefaultFailurePolicy(FailurePolicy.WAIT);
+        service.setWaitTimeout(Duration.ofSeconds(30));
+        Map<Robot, String> programs = new LinkedHashMap<>();
+        for (int y = 0; y < count; y++) {
+            Robot robot = new Robot(new Position(1, y), Direction.EAST);
+            repository.save(robot);
+            programs.put(robot, "FF");
+        }
+
+        Map<Robot, ExecutionResult> results = service.executeConcurrently(programs);
+
+        for (Map.Entry<Robot, ExecutionResult> entry : results.entrySet()) {
+            assertTrue(entry.getValue().isSuccess(), entry.getKey().getId());
+        }
+        assertEquals(count, repository.countInArea(3, 0, 3, count - 1));
+        assertEquals(0, repository.zoneOccupancy(0));
+    }
+
+    @Test
+    @DisplayName("A wait timeout too long for a deadline keeps the robot waiting instead of failing at once")
+    void setWaitTimeout_Forever_WaitsUntilCellFrees() throws Exception {
+        Room room = new Room(3, 3);
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        service.setWaitTimeout(ChronoUnit.FOREVER.getDuration());
+        Robot waiting = new Robot(new Position(0, 0), Direction.NORTH);
+        Robot blocker = new Robot(new Position(0, 1), Direction.EAST);
+        repository.save(waiting);
+        repository.save(blocker);
+
+        CompletableFuture<ExecutionResult> result = CompletableFuture.supplyAsync(
+                () -> service.execute(waiting, "F", FailurePolicy.WAIT));
+        Thread.sleep(100);
+        service.executeCommands(blocker, "F");
+
+        assertTrue(result.get(10, TimeUnit.SECONDS).isSuccess());
+        assertEquals(new Position(0, 1), waiting.getPosition());
+    }
+
+    private static long detectorThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("deadlock-detector") && thread.isAlive())
+                .count();
+    }
+
+    private static SimulationService cycleService(RobotRepository repository, DeadlockPolicy policy,
+                                                  Duration timeout) {
+        SimulationService service = new SimulationService(repository, CYCLE_ROOM);
+        service.setDefaultFailurePolicy(FailurePolicy.WAIT);
+        service.setDeadlockPolicy(policy);
+        service.setWaitTimeout(timeout);
+        return service;
+    }
+
+    /**
+     * Four robots on a 2x2 square, each facing the cell of the next one.
+     */
+    private static Map<Robot, String> cycle(RobotRepository repository, String program) {
+        Map<Robot, String> programs = new LinkedHashMap<>();
+        for (Robot robot : List.of(new Robot(new Position(1, 2), Direction.EAST),
+                new Robot(new Position(2, 2), Direction.SOUTH),
+                new Robot(new Position(2, 1), Direction.WEST),
+                new Robot(new Position(1, 1), Direction.NORTH))) {
+            repository.save(robot);
+            programs.put(robot, program);
+        }
+        return programs;
+    }
+}
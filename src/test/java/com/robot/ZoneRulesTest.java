@@ -0,0 +1,194 @@
+package com.robot;
+
+import com.robot.domain.Direction;
+import com.robot.domain.Position;
+import com.robot.domain.Robot;
+import com.robot.domain.Room;
+import com.robot.domain.Zone;
+import com.robot.exception.RobotZoneViolationException;
+import com.robot.repository.RobotRepository;
+import com.robot.service.ExecutionResult;
+import com.robot.service.FailureCode;
+import com.robot.service.FailurePolicy;
+import com.robot.service.SimulationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZoneRulesTest {
+
+    @Test
+    @DisplayName("Robots cannot enter a forbidden zone")
+    void execute_IntoForbiddenZone_Rejected() {
+        Room room = new Room(5, 5).withZones(Zone.area("pit", 2, 0, 2, 4).forbid());
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        Robot robot = new Robot(new Position(0, 1), Direction.EAST);
+        repository.save(robot);
+
+        ExecutionResult result = service.execute(robot, "FF", FailurePolicy.STOP);
+
+        assertEquals(FailureCode.ZONE_FORBIDDEN, result.failure());
+        assertEquals(new Position(1, 1), robot.getPosition());
+    }
+
+    @Test
+    @DisplayName("A one-robot crossing admits the next robot only after the first one leaves")
+    void execute_CapacityOne_AdmitsAfterLeave() {
+        Room room = new Room(5, 3).withZones(Zone.area("crossing", 2, 0, 2, 2).withCapacity(1));
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        Robot first = new Robot(new Position(1, 0), Direction.EAST);
+        Robot second = new Robot(new Position(1, 2), Direction.EAST);
+        repository.save(first);
+        repository.save(second);
+
+        assertTrue(service.execute(first, "F").isSuccess());
+        assertEquals(1, repository.zoneOccupancy(0));
+        assertEquals(FailureCode.ZONE_FULL, service.execute(second, "F").failure());
+
+        assertTrue(service.execute(first, "F").isSuccess());
+        assertEquals(0, repository.zoneOccupancy(0));
+        assertTrue(service.execute(second, "F").isSuccess());
+        assertEquals(new Position(2, 2), second.getPosition());
+    }
+
+    @Test
+    @DisplayName("Entry direction rules apply when entering, not when moving inside the zone")
+    void execute_EntryDirection_OnlyCheckedOnEntry() {
+        Room room = new Room(6, 6).withZones(Zone.area("one-way", 2, 2, 3, 3).withEntryDirections(Direction.EAST));
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        Robot wrongWay = new Robot(new Position(2, 1), Direction.NORTH);
+        Robot rightWay = new Robot(new Position(1, 2), Direction.EAST);
+        repository.save(wrongWay);
+        repository.save(rightWay);
+
+        assertEquals(FailureCode.ZONE_ENTRY_DIRECTION, service.execute(wrongWay, "F").failure());
+        // Enters eastwards, then turns north and keeps moving inside the zone
+        assertTrue(service.execute(rightWay, "FLF").isSuccess());
+        assertEquals(new Position(2, 3), rightWay.getPosition());
+    }
+
+    @Test
+    @DisplayName("executeCommands reports zone violations as exceptions")
+    void executeCommands_ForbiddenZone_ThrowsException() {
+        Room room = new Room(3, 3).withZones(Zone.area("dock", 1, 1, 1, 1).forbid());
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        Robot robot = new Robot(new Position(1, 0), Direction.NORTH);
+        repository.save(robot);
+
+        RobotZoneViolationException exception = assertThrows(RobotZoneViolationException.class,
+                () -> service.executeCommands(robot, "F"));
+        assertTrue(exception.getMessage().contains("dock"));
+    }
+
+    @Test
+    @DisplayName("Robots saved inside a zone count against its capacity")
+    void save_InsideZone_CountsAgainstCapacity() {
+        Room room = new Room(4, 4).withZones(Zone.area("bay", 0, 0, 1, 1).withCapacity(2));
+        RobotRepository repository = new RobotRepository(room);
+        SimulationService service = new SimulationService(repository, room);
+        Robot parked = new Robot(new Position(0, 0), Direction.NORTH);
+        repository.save(parked);
+        Robot second = new Robot(new Position(1, 2), Direction.SOUTH);
+        Robot third = new Robot(new Position(2, 0), Direction.WEST);
+        repository.save(second);
+        repository.save(third);
+
+        assertTrue(service.execute(second, "F").isSuccess());
+        assertEquals(FailureCode.ZONE_FULL, service.execute(third, "F").failure());
+
+        repository.delete(parked.getId());
+        assertTrue(service.execute(third, "F").isSuccess());
+        assertEquals(2, repository.zoneOccupancy(0));
+    }
+
+    @Test
+    @DisplayName("Overlapping zones and zones outside the room are rejected")
+    void withZones_InvalidZones_ThrowsException() {
+        Room room = new Room(5, 5);
+        assertThrows(IllegalArgumentException.class,
+                () -> room.withZones(Zone.area("a", 0, 0, 2, 2), Zone.area("b", 2, 2, 3, 3)));
+        assertThrows(IllegalArgumentException.class, () -> room.withZones(Zone.area("a", 3, 3, 5, 4)));
+        assertThrows(IllegalArgumentException.class, () -> Zone.area("a", 0, 0, 1, 1).withCapacity(0));
+    }
+
+    @Test
+    @DisplayName("Saving a robot into a full zone is rejected without changing the repository")
+    void save_IntoFullZone_ThrowsException() {
+        Room room = new Room(4, 4).withZones(Zone.area("bay", 0, 0, 1, 1).withCapacity(1));
+        RobotRepository repository = new RobotRepository(room);
+        repository.save(new Robot(new Position(0, 0), Direction.NORTH));
+        Robot overflow = new Robot(new Position(1, 1), Direction.NORTH);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(overflow));
+        assertEquals(1, repository.zoneOccupancy(0));
+        assertFalse(repository.isOccupied(1, 1));
+        assertNull(repository.findById(overflow.getId()));
+    }
+
+    @Test
+    @DisplayName("Repositories sharing a room count their own robots only")
+    void zoneOccupancy_TwoRepositoriesForOneRoom_CountedSeparately() {
+        Room room = new Room(4, 4).withZones(Zone.area("bay", 0, 0, 1, 1).withCapacity(1));
+        RobotRepository first = new RobotRepository(room);
+        RobotRepository second = new RobotRepository(room);
+
+        first.save(new Robot(new Position(0, 0), Direction.NORTH));
+        second.save(new Robot(new Position(1, 1), Direction.NORTH));
+
+        assertEquals(1, first.zoneOccupancy(0));
+        assertEquals(1, second.zoneOccupancy(0));
+        assertThrows(IllegalArgumentException.class, () -> new SimulationService(new RobotRepository(), room));
+    }
+
+    @Test
+    @DisplayName("Concurrent admissions never exceed a zone's capacity")
+    void tryEnterZone_ConcurrentThreads_NeverExceedsCapacity() throws Exception {
+        Room room = new Room(10, 10).withZones(Zone.area("gate", 0, 0, 9, 9).withCapacity(3));
+        RobotRepository repository = new RobotRepository(room);
+        int threads = 8;
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    if (repository.tryEnterZone(0)) {
+                        maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                        inside.decrementAndGet();
+                        repository.leaveZone(0);
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertTrue(maxInside.get() <= 3);
+        assertEquals(0, repository.zoneOccupancy(0));
+    }
+}